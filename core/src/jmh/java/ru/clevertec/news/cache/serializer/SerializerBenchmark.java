@@ -0,0 +1,78 @@
+package ru.clevertec.news.cache.serializer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import ru.clevertec.news.dto.CommentDto;
+import ru.clevertec.news.dto.NewsDto;
+import ru.clevertec.news.dto.NewsListDto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Redis value serializers: the default JDK serializer of Spring and the binary one
+ * with and without compression. Bytes per entry are printed once per trial.
+ * Run with <b>gradle :core:jmh</b>
+ *
+ * @author Yuryeu Andrei
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+    @Param({"jdk", "binary", "binary-lz4"})
+    private String serializerName;
+
+    @Param({"comment", "news-4KB"})
+    private String valueName;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = switch (serializerName) {
+            case "jdk" -> new JdkSerializationRedisSerializer();
+            case "binary" -> new ValueRedisSerializer(new BinaryValueSerializer(Integer.MAX_VALUE));
+            case "binary-lz4" -> new ValueRedisSerializer(new BinaryValueSerializer());
+            default -> throw new IllegalArgumentException(serializerName);
+        };
+        LocalDateTime createDate = LocalDateTime.of(2023, 4, 26, 11, 30, 7, 319_000_000);
+        NewsListDto news = new NewsListDto(3L, "Cool title", "dobrowydka", createDate);
+        value = switch (valueName) {
+            case "comment" -> new CommentDto(7L, "Amazing!", "reader", createDate, news);
+            case "news-4KB" -> new NewsDto(3L, "Cool title", "Long and interesting content. ".repeat(140),
+                    "dobrowydka", createDate);
+            default -> throw new IllegalArgumentException(valueName);
+        };
+        bytes = serializer.serialize(value);
+        System.out.printf("%n%s %s: %d bytes per entry%n", serializerName, valueName, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(bytes);
+    }
+}
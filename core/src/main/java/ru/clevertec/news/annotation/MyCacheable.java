@@ -3,7 +3,20 @@ package ru.clevertec.news.annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
+/**
+ * Marks a service, which results are cached by the custom cache
+ */
 @Retention(RetentionPolicy.RUNTIME)
 public @interface MyCacheable {
 
+    /**
+     * Name of the cache region, services with different regions never share cached entries
+     */
+    String value();
+
+    /**
+     * Message of the <b>not found</b> exception of the service, formatted with the id,
+     * it is thrown when the id is rejected by the existence filter of the region
+     */
+    String notFoundMessage() default "";
 }
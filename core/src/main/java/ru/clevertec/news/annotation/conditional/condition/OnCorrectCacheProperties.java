@@ -20,4 +20,14 @@ public class OnCorrectCacheProperties extends AnyNestedCondition {
     static class ConditionForLfuCache {
 
     }
+
+    @ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "CONCURRENT_LRU")
+    static class ConditionForConcurrentLruCache {
+
+    }
+
+    @ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "TINYLFU")
+    static class ConditionForTinyLfuCache {
+
+    }
 }
@@ -1,30 +1,47 @@
 package ru.clevertec.news.aspect;
 
-import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Component;
 import ru.clevertec.news.annotation.MyCacheable;
-import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.SingleFlight;
 import ru.clevertec.news.cache.config.MyCacheConfig;
+import ru.clevertec.news.cache.refresh.EntryLoader;
+import ru.clevertec.news.cache.refresh.Reloading;
+import ru.clevertec.news.cache.region.CacheRegions;
+import ru.clevertec.news.cache.region.RegionCache;
+import ru.clevertec.news.cache.trace.TraceRecorder;
 
-import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Aspect class used for my own cache implementation
+ * Aspect class used for my own cache implementation, every service is cached in the region
+ * named by its {@link MyCacheable} annotation, the ids read by findById are passed to the {@link TraceRecorder}
  *
  * @author Yuryeu Andrei
  */
 @Aspect
 @Component
 @ConditionalOnBean(MyCacheConfig.class)
-@RequiredArgsConstructor
 public class CachingAspect {
 
-    private final Cache cache;
+    private final CacheRegions cacheRegions;
+    private final TraceRecorder traceRecorder;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ConcurrentMap<String, EntryLoader> reloaders = new ConcurrentHashMap<>();
+
+    public CachingAspect(CacheRegions cacheRegions, ObjectProvider<TraceRecorder> traceRecorder) {
+        this.cacheRegions = cacheRegions;
+        this.traceRecorder = traceRecorder.getIfAvailable(() -> TraceRecorder.NONE);
+    }
 
     /**
      * FindById method of service pointcut
@@ -36,7 +53,7 @@ public class CachingAspect {
     /**
      * Add and Update method of service pointcut
      */
-    @Pointcut("execution(public !void ru.clevertec.news.service.*.add(..)) &&" +
+    @Pointcut("execution(public !void ru.clevertec.news.service.*.add(..)) ||" +
             " execution(public !void ru.clevertec.news.service.*.update(..))")
     public void addAndUpdateServiceMethod() {
     }
@@ -49,21 +66,33 @@ public class CachingAspect {
     }
 
     /**
-     * FindByID caching advice, puts the result of method invokation into the cache
+     * FindByID caching advice, puts the result of method invokation into the cache.
+     * Concurrent misses on the same id wait for a single invokation and share its result.
+     * A stale entry of a region with refresh-ahead is returned, while it is reloaded in the background
+     * by calling the method through the proxy of the service, the reload itself is not cached by this advice
      */
     @Around("findByIdServiceMethod()")
     public Object cachingFindByIdResults(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
-        boolean hasAnnotation = proceedingJoinPoint.getTarget().getClass().isAnnotationPresent(MyCacheable.class);
+        if (Reloading.consume()) {
+            return proceedingJoinPoint.proceed();
+        }
+        MyCacheable annotation = proceedingJoinPoint.getTarget().getClass().getAnnotation(MyCacheable.class);
 
-        if (hasAnnotation) {
+        if (annotation != null) {
+            RegionCache cache = cacheRegions.region(annotation.value());
             Long id = (Long) proceedingJoinPoint.getArgs()[0];
-            Object cachedObject = cache.get(id);
+            traceRecorder.record(annotation.value(), id);
+            EntryLoader reloader = reloaders.computeIfAbsent(annotation.value(),
+                    region -> reloaderOf(proceedingJoinPoint));
+            Object cachedObject = cache.get(id, cache.timed(() -> reloader.load(id)));
             if (cachedObject != null) {
                 return cachedObject;
             } else {
-                Object retVal = proceedingJoinPoint.proceed();
-                cache.set(id, retVal);
-                return retVal;
+                return singleFlight.load(annotation.value(), id, cache, () -> {
+                    Object retVal = cache.timed(proceedingJoinPoint::proceed).load();
+                    cache.set(id, retVal);
+                    return retVal;
+                });
             }
         }
         return proceedingJoinPoint.proceed();
@@ -71,48 +100,53 @@ public class CachingAspect {
 
     /**
      * Save and Update caching advice, puts the result of method invokation
-     * into the cache(updates it in case of update)
+     * into the cache(updates it in case of update), the method is invoked once
      */
     @Around("addAndUpdateServiceMethod()")
     public Object cachingSaveAndUpdateResults(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
-        boolean hasAnnotation = proceedingJoinPoint.getTarget().getClass().isAnnotationPresent(MyCacheable.class);
+        Object retVal = proceedingJoinPoint.proceed();
+        MyCacheable annotation = proceedingJoinPoint.getTarget().getClass().getAnnotation(MyCacheable.class);
 
-        if (hasAnnotation) {
-            Object retVal = proceedingJoinPoint.proceed();
-            Long id = findEntityId(retVal);
-            cache.set(id, retVal);
+        if (annotation != null && retVal != null) {
+            Long id = EntityIds.idOf(retVal);
+            if (id != null) {
+                cacheRegions.region(annotation.value()).set(id, retVal);
+            }
         }
-
-        return proceedingJoinPoint.proceed();
+        return retVal;
     }
 
     /**
-     * Delete caching advice, removes element from cache
+     * Delete caching advice, removes element from cache after the method was invoked successfully
      */
     @Around("deleteServiceMethod()")
     public Object cachingDeleteResults(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
-        boolean hasAnnotation = proceedingJoinPoint.getTarget().getClass().isAnnotationPresent(MyCacheable.class);
+        Object retVal = proceedingJoinPoint.proceed();
+        MyCacheable annotation = proceedingJoinPoint.getTarget().getClass().getAnnotation(MyCacheable.class);
 
-        if (hasAnnotation) {
+        if (annotation != null) {
             Long id = (Long) proceedingJoinPoint.getArgs()[0];
-            if (cache.get(id) != null) {
-                proceedingJoinPoint.proceed();
-                cache.delete(id);
-            }
+            cacheRegions.region(annotation.value()).delete(id);
         }
-
-        return proceedingJoinPoint.proceed();
+        return retVal;
     }
 
-    private Long findEntityId(Object object) throws Throwable {
-        Long id = null;
-        for (Field field : object.getClass().getDeclaredFields()) {
-            if ("id".equals(field.getName())) {
-                field.setAccessible(true);
-                id = (Long) field.get(object);
-                field.setAccessible(false);
+    /**
+     * Reloads run on the threads of the refresher, so they can not proceed the join point of the request,
+     * whose advice chain is bound to the request thread
+     */
+    private static EntryLoader reloaderOf(ProceedingJoinPoint proceedingJoinPoint) {
+        Object proxy = proceedingJoinPoint.getThis();
+        Method method = ((MethodSignature) proceedingJoinPoint.getSignature()).getMethod();
+        return id -> Reloading.run(() -> {
+            try {
+                return method.invoke(proxy, id);
+            } catch (InvocationTargetException ex) {
+                if (ex.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw ex;
             }
-        }
-        return id;
+        });
     }
 }
@@ -0,0 +1,42 @@
+package ru.clevertec.news.aspect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Reads ids of the DTOs returned by the services
+ *
+ * @author Yuryeu Andrei
+ */
+final class EntityIds {
+
+    private static final ClassValue<MethodHandle> ID_GETTERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findIdGetter(type);
+        }
+    };
+
+    private EntityIds() {
+    }
+
+    /**
+     * Id is read by the public <b>getId()</b> getter of the DTO, the getter handle is looked up once per class
+     *
+     * @return id of the DTO or null if it has no such getter
+     */
+    static Long idOf(Object object) throws Throwable {
+        return (Long) ID_GETTERS.get(object.getClass()).invoke(object);
+    }
+
+    private static MethodHandle findIdGetter(Class<?> type) {
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(type, "getId", MethodType.methodType(Long.class))
+                    .asType(MethodType.methodType(Long.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            return MethodHandles.dropArguments(MethodHandles.constant(Long.class, null), 0, Object.class);
+        }
+    }
+}
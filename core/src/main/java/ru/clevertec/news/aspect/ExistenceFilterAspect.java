@@ -0,0 +1,52 @@
+package ru.clevertec.news.aspect;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import ru.clevertec.handling.exception.ServiceException;
+import ru.clevertec.news.annotation.MyCacheable;
+import ru.clevertec.news.cache.filter.ExistenceFilters;
+
+/**
+ * Aspect class rejecting lookups of the ids, that definitely do not exist. It runs before any caching advice,
+ * so such a lookup reaches neither the cache nor the database
+ *
+ * @author Yuryeu Andrei
+ * @see ExistenceFilters
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ExistenceFilterAspect {
+
+    private final ExistenceFilters existenceFilters;
+
+    /**
+     * FindById method of service pointcut
+     */
+    @Pointcut("execution(public !void ru.clevertec.news.service.*.findById(..))")
+    public void findByIdServiceMethod() {
+    }
+
+    /**
+     * FindByID filtering advice, throws the <b>not found</b> exception of the service for a rejected id
+     */
+    @Around("findByIdServiceMethod()")
+    public Object filteringFindByIdCalls(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+        MyCacheable annotation = proceedingJoinPoint.getTarget().getClass().getAnnotation(MyCacheable.class);
+
+        if (annotation != null && !annotation.notFoundMessage().isEmpty()
+                && proceedingJoinPoint.getArgs()[0] instanceof Long id
+                && !existenceFilters.mightContain(annotation.value(), id)) {
+            throw new ServiceException(String.format(annotation.notFoundMessage(), id), HttpStatus.NOT_FOUND);
+        }
+        return proceedingJoinPoint.proceed();
+    }
+}
@@ -0,0 +1,106 @@
+package ru.clevertec.news.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.clevertec.handling.exception.ServiceException;
+import ru.clevertec.news.annotation.MyCacheable;
+import ru.clevertec.news.cache.negative.NotFoundCache;
+
+/**
+ * Aspect class used for negative caching: a <b>not found</b> result of findById of a service marked
+ * by {@link MyCacheable} is remembered for a short time and thrown again without the database lookup.
+ * The remembered result is forgotten, when an entity with the same id is added
+ *
+ * @author Yuryeu Andrei
+ * @see NotFoundCache
+ */
+@Aspect
+@Component
+public class NotFoundCachingAspect {
+
+    private final NotFoundCache notFoundCache;
+
+    /**
+     * Negative caching is disabled, when there is no {@link NotFoundCache} bean
+     */
+    public NotFoundCachingAspect(ObjectProvider<NotFoundCache> notFoundCache) {
+        this.notFoundCache = notFoundCache.getIfAvailable(() -> NotFoundCache.NONE);
+    }
+
+    /**
+     * FindById method of service pointcut
+     */
+    @Pointcut("execution(public !void ru.clevertec.news.service.*.findById(..))")
+    public void findByIdServiceMethod() {
+    }
+
+    /**
+     * Add method of service pointcut
+     */
+    @Pointcut("execution(public !void ru.clevertec.news.service.*.add(..))")
+    public void addServiceMethod() {
+    }
+
+    /**
+     * FindByID negative caching advice, a remembered absence is thrown as the same <b>ServiceException</b>
+     */
+    @Around("findByIdServiceMethod()")
+    public Object cachingNotFoundResults(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+        MyCacheable annotation = proceedingJoinPoint.getTarget().getClass().getAnnotation(MyCacheable.class);
+        if (annotation == null || !(proceedingJoinPoint.getArgs()[0] instanceof Long id)) {
+            return proceedingJoinPoint.proceed();
+        }
+        String message = notFoundCache.get(annotation.value(), id);
+        if (message != null) {
+            throw new ServiceException(message, HttpStatus.NOT_FOUND);
+        }
+        try {
+            return proceedingJoinPoint.proceed();
+        } catch (ServiceException ex) {
+            if (ex.getHttpStatus() == HttpStatus.NOT_FOUND) {
+                notFoundCache.put(annotation.value(), id, ex.getMessage());
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Add advice, forgets the absence of the added entity
+     */
+    @Around("addServiceMethod()")
+    public Object evictingNotFoundResults(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+        Object retVal = proceedingJoinPoint.proceed();
+        MyCacheable annotation = proceedingJoinPoint.getTarget().getClass().getAnnotation(MyCacheable.class);
+
+        if (annotation != null && retVal != null) {
+            Long id = EntityIds.idOf(retVal);
+            if (id != null) {
+                evict(annotation.value(), id);
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     * The absence is forgotten once more after the commit, because a lookup made before the commit
+     * could remember it again
+     */
+    private void evict(String region, long id) {
+        notFoundCache.evict(region, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notFoundCache.evict(region, id);
+                }
+            });
+        }
+    }
+}
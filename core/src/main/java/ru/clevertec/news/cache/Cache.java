@@ -1,14 +1,90 @@
 package ru.clevertec.news.cache;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface Cache {
 
-    Object get(Long key);
+    Object get(long key);
 
+    default Object get(Long key) {
+        return get(key.longValue());
+    }
+
+    /**
+     * Returns the value like {@link #get(long)}, caches with refresh-ahead reload a stale value
+     * by the reloader in the background, while the stale value is still returned
+     */
+    default Object get(long key, SingleFlight.Loader reloader) {
+        return get(key);
+    }
+
+    /**
+     * Returns a snapshot of the values, it is safe to iterate, while the cache is changed. The scan changes
+     * neither the eviction order, nor the use counts, nor the expiry of the entries
+     */
     List<Object> getAll();
 
-    void set(Long key, Object value);
+    /**
+     * Returns the values of the present keys by key, without the side effects of {@link #get(long)} like
+     * {@link #getAll()}, absent keys are not included
+     */
+    Map<Long, Object> getAll(Collection<Long> keys);
+
+    void set(long key, Object value);
+
+    default void set(Long key, Object value) {
+        set(key.longValue(), value);
+    }
+
+    /**
+     * Stores the value, which expires after the given time to live instead of the expiry of the cache
+     */
+    void set(long key, Object value, Duration timeToLive);
+
+    default void set(Long key, Object value, Duration timeToLive) {
+        set(key.longValue(), value, timeToLive);
+    }
+
+    void delete(long key);
+
+    default void delete(Long key) {
+        delete(key.longValue());
+    }
+
+    int size();
+
+    /**
+     * Estimated weight of the stored entries, caches without a weight limit return 0
+     */
+    default long weight() {
+        return 0;
+    }
+
+    void setEvictionListener(EvictionListener listener);
+
+    /**
+     * Hits of every tier of a multi-tier cache by the tier name, single-tier caches return no tiers
+     */
+    default Map<String, Long> tierHitCounts() {
+        return Map.of();
+    }
+
+    /**
+     * Returns the keys from the hottest to the coldest one, so the eviction order is restored,
+     * when they are passed to {@link #restore} in the reverse order. Caches without an order return no keys.
+     * Like {@link #getAll()} the scan changes neither the eviction order nor the expiry of the entries
+     */
+    default List<HotKey> hotKeys() {
+        return List.of();
+    }
 
-    void delete(Long key);
+    /**
+     * Stores the value with the use count of the {@link HotKey}, it must be called from the coldest to the hottest key
+     */
+    default void restore(long key, Object value, long useCount) {
+        set(key, value);
+    }
 }
@@ -0,0 +1,44 @@
+package ru.clevertec.news.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Expiry and weight settings of a local cache, every limit is disabled by default
+ *
+ * @author Yuryeu Andrei
+ * @see Weigher
+ */
+@Getter
+@Builder(toBuilder = true)
+public class CachePolicy {
+
+    public static final CachePolicy DEFAULT = CachePolicy.builder().build();
+
+    /**
+     * Limit of the total weight of the entries in addition to the entry count, zero means no limit
+     */
+    private final long maxWeight;
+
+    @Builder.Default
+    private final Weigher weigher = Weigher.SINGLETON;
+
+    /**
+     * Time to live of an entry since it was set, null means no expiry
+     */
+    private final Duration expireAfterWrite;
+
+    /**
+     * Time to live of an entry since it was read or set, null means no expiry
+     */
+    private final Duration expireAfterAccess;
+
+    /**
+     * Source of nanosecond time used for expiry
+     */
+    @Builder.Default
+    private final LongSupplier ticker = System::nanoTime;
+}
@@ -0,0 +1,41 @@
+package ru.clevertec.news.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Evicts the cached entities, that are deleted in bulk, e.g. the Comments deleted together with their News,
+ * so the caching of the service, that owns the entities, does not see the deletion
+ *
+ * @author Yuryeu Andrei
+ */
+@FunctionalInterface
+public interface EntityEviction {
+
+    EntityEviction NONE = ids -> {
+    };
+
+    void evict(Collection<Long> ids);
+
+    /**
+     * Evicts the entities after the commit, so a concurrent read of an entity, that is not deleted yet,
+     * can not put it into the cache again after the eviction. Nothing is evicted, if the deletion is rolled back
+     */
+    default void evictAfterCommit(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(ids);
+                }
+            });
+        } else {
+            evict(ids);
+        }
+    }
+}
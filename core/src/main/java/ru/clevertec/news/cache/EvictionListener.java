@@ -0,0 +1,22 @@
+package ru.clevertec.news.cache;
+
+/**
+ * Listener notified when an entry leaves the cache to free capacity (explicit deletions are not reported).
+ * It is called by the thread which caused the eviction, while the cache still holds its internal lock,
+ * so the listener must be fast and must not call the same cache.
+ *
+ * @author Yuryeu Andrei
+ */
+@FunctionalInterface
+public interface EvictionListener {
+
+    void onEviction(long key, Object value);
+
+    /**
+     * Listener, that ignores the value, returns false, so a cache keeping values serialized
+     * does not deserialize the evicted ones, the value is null then
+     */
+    default boolean needsValue() {
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.clevertec.news.cache;
+
+/**
+ * Key of a cache entry with its use count, which is 0 for the caches ordering entries by recency only
+ *
+ * @author Yuryeu Andrei
+ */
+public record HotKey(long key, long useCount) {
+}
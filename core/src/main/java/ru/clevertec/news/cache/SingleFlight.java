@@ -0,0 +1,74 @@
+package ru.clevertec.news.cache;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, callers coming while
+ * the load is in flight wait for it and share its result or its exception. Nothing is kept after the load
+ * is finished, so the loader is expected to put its result into a cache, the caller, that missed the cache
+ * just before the result was put, finds it there by {@link #load(String, long, Cache, Loader)}.
+ *
+ * @author Yuryeu Andrei
+ */
+public class SingleFlight {
+
+    private final ConcurrentMap<FlightKey, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param region name of the cache region, the same id of different regions is loaded separately
+     * @param key    id of the loaded entry
+     * @param loader loads the entry, runs once for all the concurrent callers
+     * @return result of the loader
+     */
+    public Object load(String region, long key, Loader loader) throws Throwable {
+        return load(region, key, null, loader);
+    }
+
+    /**
+     * The caller, that runs the loader, reads the cache once more before it, so a caller, that missed the cache
+     * before the previous load put its result and started a flight after that load finished, does not load again.
+     * The cache is read by {@link Cache#getAll(java.util.Collection)}, so the second read is not counted as a miss
+     *
+     * @param cache cache, the loader puts the result into, null if there is no cache to read
+     */
+    public Object load(String region, long key, Cache cache, Loader loader) throws Throwable {
+        FlightKey flightKey = new FlightKey(region, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(flightKey, flight);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            Object cached = cache == null ? null : cache.getAll(List.of(key)).get(key);
+            Object result = cached != null ? cached : loader.load();
+            flight.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) throws Throwable {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+
+        Object load() throws Throwable;
+    }
+
+    private record FlightKey(String region, long key) {
+    }
+}
@@ -0,0 +1,20 @@
+package ru.clevertec.news.cache;
+
+/**
+ * Calculates the weight of a cached value, weights of all entries are limited by {@link CachePolicy#getMaxWeight()}
+ *
+ * @author Yuryeu Andrei
+ */
+@FunctionalInterface
+public interface Weigher {
+
+    /**
+     * Every value weighs the same, so the weight budget limits the number of entries
+     */
+    Weigher SINGLETON = value -> 1;
+
+    /**
+     * @return non-negative weight of the value
+     */
+    int weigh(Object value);
+}
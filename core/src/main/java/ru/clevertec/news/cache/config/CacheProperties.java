@@ -0,0 +1,94 @@
+package ru.clevertec.news.cache.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Properties of the custom cache. Top-level properties are the defaults of every region,
+ * a region configured under <b>cache.regions.&lt;name&gt;</b> overrides any of them
+ *
+ * @author Yuryeu Andrei
+ */
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    private String algorithm;
+    private int size;
+    private boolean aging;
+    private DataSize maxWeight = DataSize.ofBytes(0);
+    private Duration expireAfterWrite;
+    private Duration expireAfterAccess;
+    private Duration refreshAfterWrite;
+    private OffHeap offHeap = new OffHeap();
+    private Map<String, Region> regions = new LinkedHashMap<>();
+    private Snapshot snapshot = new Snapshot();
+    private Trace trace = new Trace();
+    /**
+     * Time to live of the remembered absence of an entity, zero disables negative caching
+     */
+    private Duration notFoundTimeToLive = Duration.ofSeconds(30);
+
+    /**
+     * @return settings of the region, unset ones are taken from the defaults
+     */
+    public Region region(String name) {
+        Region region = regions.getOrDefault(name, new Region());
+        Region resolved = new Region();
+        resolved.setAlgorithm(region.getAlgorithm() != null ? region.getAlgorithm() : algorithm);
+        resolved.setSize(region.getSize() != null ? region.getSize() : size);
+        resolved.setAging(region.getAging() != null ? region.getAging() : aging);
+        resolved.setMaxWeight(region.getMaxWeight() != null ? region.getMaxWeight() : maxWeight);
+        resolved.setExpireAfterWrite(region.getExpireAfterWrite() != null ? region.getExpireAfterWrite() : expireAfterWrite);
+        resolved.setExpireAfterAccess(region.getExpireAfterAccess() != null ? region.getExpireAfterAccess() : expireAfterAccess);
+        resolved.setRefreshAfterWrite(region.getRefreshAfterWrite() != null ? region.getRefreshAfterWrite() : refreshAfterWrite);
+        resolved.setOffHeap(region.getOffHeap() != null ? region.getOffHeap() : offHeap);
+        return resolved;
+    }
+
+    @Data
+    public static class OffHeap {
+
+        private DataSize size = DataSize.ofBytes(0);
+        private DataSize slabSize = DataSize.ofMegabytes(1);
+    }
+
+    /**
+     * Hot key snapshot is written to the file, in case it is set
+     */
+    @Data
+    public static class Snapshot {
+
+        private Path file;
+        private Duration interval = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Accessed keys are recorded to the file, in case it is set
+     */
+    @Data
+    public static class Trace {
+
+        private Path file;
+        private int size = 1 << 20;
+    }
+
+    @Data
+    public static class Region {
+
+        private String algorithm;
+        private Integer size;
+        private Boolean aging;
+        private DataSize maxWeight;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAfterWrite;
+        private OffHeap offHeap;
+    }
+}
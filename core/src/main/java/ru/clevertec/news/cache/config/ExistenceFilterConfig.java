@@ -0,0 +1,53 @@
+package ru.clevertec.news.cache.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.clevertec.news.cache.filter.ExistenceFilterLoader;
+import ru.clevertec.news.cache.filter.ExistenceFilters;
+import ru.clevertec.news.repository.CommentRepository;
+import ru.clevertec.news.repository.NewsRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Existence filters of News and Comments, a filter is disabled, when its capacity is not set
+ *
+ * @author Yuryeu Andrei
+ */
+@Configuration
+public class ExistenceFilterConfig {
+
+    @Value("${cache.existence-filter.news-capacity:0}")
+    private int newsCapacity;
+
+    @Value("${cache.existence-filter.comments-capacity:0}")
+    private int commentsCapacity;
+
+    @Bean
+    public ExistenceFilters existenceFilters() {
+        Map<String, Integer> capacities = new HashMap<>();
+        if (newsCapacity > 0) {
+            capacities.put("news", newsCapacity);
+        }
+        if (commentsCapacity > 0) {
+            capacities.put("comments", commentsCapacity);
+        }
+        return capacities.isEmpty() ? ExistenceFilters.disabled() : new ExistenceFilters(capacities);
+    }
+
+    @Bean
+    @ConditionalOnExpression("${cache.existence-filter.news-capacity:0} > 0 || ${cache.existence-filter.comments-capacity:0} > 0")
+    public ExistenceFilterLoader existenceFilterLoader(ExistenceFilters existenceFilters,
+                                                       PlatformTransactionManager transactionManager,
+                                                       NewsRepository newsRepository,
+                                                       CommentRepository commentRepository) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return new ExistenceFilterLoader(existenceFilters, readOnlyTransaction, newsRepository, commentRepository);
+    }
+}
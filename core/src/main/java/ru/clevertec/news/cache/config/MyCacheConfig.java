@@ -1,26 +1,128 @@
 package ru.clevertec.news.cache.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import ru.clevertec.news.annotation.conditional.ConditionalOnCorrectCacheProperties;
 import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.EntityEviction;
 import ru.clevertec.news.cache.factory.CacheFactory;
+import ru.clevertec.news.cache.negative.LocalNotFoundCache;
+import ru.clevertec.news.cache.negative.NotFoundCache;
+import ru.clevertec.news.cache.refresh.RefreshAheadCache;
+import ru.clevertec.news.cache.refresh.Refresher;
+import ru.clevertec.news.cache.region.CacheRegions;
+import ru.clevertec.news.cache.trace.RingFileTraceRecorder;
+import ru.clevertec.news.cache.warmup.CacheWarmUp;
+import ru.clevertec.news.cache.warmup.HotKeySnapshot;
+import ru.clevertec.news.cache.warmup.HotKeys;
+import ru.clevertec.news.cache.warmup.WarmUpProperties;
+import ru.clevertec.news.cache.warmup.WarmUpTarget;
+import ru.clevertec.news.cache.weigher.EstimatingWeigher;
+import ru.clevertec.news.mapper.CommentMapper;
+import ru.clevertec.news.mapper.NewsMapper;
+import ru.clevertec.news.repository.CommentRepository;
+import ru.clevertec.news.repository.NewsRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 @ConditionalOnCorrectCacheProperties
+@EnableConfigurationProperties({CacheProperties.class, WarmUpProperties.class})
 @Profile("dev")
 public class MyCacheConfig {
 
-    @Value("${cache.algorithm}")
-    private String cacheType;
-    @Value("${cache.size}")
-    private int cacheSize;
+    private static final int REFRESH_THREADS = 2;
+
+    private final ExecutorService refreshExecutor = Executors.newFixedThreadPool(REFRESH_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
 
-    @Bean(name = "myCache")
-    public Cache createBeanFromNonStaticMethodFactory() {
+    @Bean
+    public CacheRegions cacheRegions(CacheProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
         CacheFactory factory = new CacheFactory();
-        return factory.createCache(cacheType, cacheSize);
+        CacheRegions regions = new CacheRegions(
+                name -> createRegionCache(factory, name, properties.region(name)),
+                meterRegistry.getIfAvailable()
+        );
+        properties.getRegions().keySet().forEach(regions::region);
+        return regions;
+    }
+
+    @Bean
+    public NotFoundCache notFoundCache(CacheRegions cacheRegions, CacheProperties properties) {
+        if (properties.getNotFoundTimeToLive().isZero()) {
+            return NotFoundCache.NONE;
+        }
+        return new LocalNotFoundCache(cacheRegions, properties.getNotFoundTimeToLive());
+    }
+
+    @Bean
+    public EntityEviction commentEviction(CacheRegions cacheRegions) {
+        return ids -> ids.forEach(cacheRegions.region("comments")::delete);
+    }
+
+    @Bean
+    @ConditionalOnProperty("cache.snapshot.file")
+    public HotKeySnapshot hotKeySnapshot(CacheRegions cacheRegions, CacheProperties properties) {
+        return new HotKeySnapshot(properties.getSnapshot().getFile(), cacheRegions, properties.getSnapshot().getInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty("cache.trace.file")
+    public RingFileTraceRecorder traceRecorder(CacheProperties properties) throws IOException {
+        return new RingFileTraceRecorder(properties.getTrace().getFile(), properties.getTrace().getSize());
+    }
+
+    @Bean
+    public CacheWarmUp cacheWarmUp(CacheRegions cacheRegions, NewsRepository newsRepository,
+                                   CommentRepository commentRepository, NewsMapper newsMapper,
+                                   CommentMapper commentMapper, WarmUpProperties properties,
+                                   ObjectProvider<HotKeys> hotKeys) {
+        return new CacheWarmUp(newsRepository, commentRepository, newsMapper, commentMapper, properties,
+                hotKeys.getIfAvailable(() -> HotKeys.NONE), System::nanoTime)
+                .news(WarmUpTarget.of(cacheRegions.region("news")))
+                .comments(WarmUpTarget.of(cacheRegions.region("comments")));
+    }
+
+    private Cache createRegionCache(CacheFactory factory, String name, CacheProperties.Region region) {
+        CachePolicy policy = CachePolicy.builder()
+                .maxWeight(region.getMaxWeight().toBytes())
+                .weigher(new EstimatingWeigher())
+                .expireAfterWrite(region.getExpireAfterWrite())
+                .expireAfterAccess(region.getExpireAfterAccess())
+                .build();
+        Cache cache = factory.createThreadSafeCache(region.getAlgorithm(), region.getSize(), region.getAging(), policy);
+        if (cache == null) {
+            throw new IllegalStateException("Unknown algorithm " + region.getAlgorithm() + " of cache region " + name);
+        }
+        long offHeapBytes = region.getOffHeap().getSize().toBytes();
+        if (offHeapBytes > 0) {
+            cache = factory.createTieredCache(cache, offHeapBytes, (int) region.getOffHeap().getSlabSize().toBytes());
+        }
+        Duration refreshAfterWrite = region.getRefreshAfterWrite();
+        if (refreshAfterWrite != null) {
+            if (region.getExpireAfterWrite() != null && refreshAfterWrite.compareTo(region.getExpireAfterWrite()) >= 0) {
+                throw new IllegalStateException("Refresh time of cache region " + name + " must be less than its expiry time");
+            }
+            cache = new RefreshAheadCache(cache, new Refresher(refreshAfterWrite, System::nanoTime, refreshExecutor));
+        }
+        return cache;
+    }
+
+    @PreDestroy
+    public void shutdownRefreshExecutor() {
+        refreshExecutor.shutdownNow();
     }
 }
@@ -0,0 +1,26 @@
+package ru.clevertec.news.cache.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.clevertec.news.cache.page.PageCache;
+import ru.clevertec.news.cache.page.PageInvalidationPublisher;
+import ru.clevertec.news.cache.region.CacheRegions;
+
+/**
+ * Pages are cached in the cache regions of the active profile, they are not cached without the regions.
+ * Evictions are published to the other instances, if the profile provides a {@link PageInvalidationPublisher}
+ *
+ * @author Yuryeu Andrei
+ */
+@Configuration
+public class PageCacheConfig {
+
+    @Bean
+    public PageCache pageCache(ObjectProvider<CacheRegions> cacheRegions,
+                               ObjectProvider<PageInvalidationPublisher> publisher) {
+        CacheRegions regions = cacheRegions.getIfAvailable();
+        return regions == null ? PageCache.disabled()
+                : new PageCache(regions::region, publisher.getIfAvailable(() -> PageInvalidationPublisher.NONE));
+    }
+}
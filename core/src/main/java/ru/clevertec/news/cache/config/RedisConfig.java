@@ -1,12 +1,231 @@
 package ru.clevertec.news.cache.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.util.unit.DataSize;
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.EntityEviction;
+import ru.clevertec.news.cache.factory.CacheFactory;
+import ru.clevertec.news.cache.near.NearCache;
+import ru.clevertec.news.cache.near.NearCacheManager;
+import ru.clevertec.news.cache.near.RedisInvalidationChannel;
+import ru.clevertec.news.cache.negative.NotFoundCache;
+import ru.clevertec.news.cache.negative.SharedNotFoundCache;
+import ru.clevertec.news.cache.page.PageCache;
+import ru.clevertec.news.cache.page.RedisPageInvalidationChannel;
+import ru.clevertec.news.cache.refresh.Refresher;
+import ru.clevertec.news.cache.region.CacheRegions;
+import ru.clevertec.news.cache.serializer.BinaryValueSerializer;
+import ru.clevertec.news.cache.serializer.ValueRedisSerializer;
+import ru.clevertec.news.cache.warmup.CacheWarmUp;
+import ru.clevertec.news.cache.warmup.HotKeys;
+import ru.clevertec.news.cache.warmup.WarmUpProperties;
+import ru.clevertec.news.cache.weigher.EstimatingWeigher;
+import ru.clevertec.news.mapper.CommentMapper;
+import ru.clevertec.news.mapper.NewsMapper;
+import ru.clevertec.news.repository.CommentRepository;
+import ru.clevertec.news.repository.NewsRepository;
+import ru.clevertec.news.service.CommentService;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis cache of the prod profile, every Redis cache is fronted by an in-process near cache.
+ * Values are stored in the compact binary format of the {@link BinaryValueSerializer}.
+ * Result pages are cached by every instance locally in the cache regions, evictions of the pages are published
+ * to the other instances through their own channel, pages expire after a short time in case a message is lost.
+ * Near cache entries expire after a short time, so an entry stays stale for a bounded time
+ * even if an invalidation message is lost. Redis entries expire after their time to live (hard TTL), with refresh-ahead
+ * an entry older than the refresh time (soft TTL) is still served, while it is reloaded in the background
+ * by calling the service through its proxy.
+ *
+ * @author Yuryeu Andrei
+ */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(WarmUpProperties.class)
 @Profile("prod")
 public class RedisConfig {
 
+    private static final int REFRESH_THREADS = 2;
+
+    @Value("${cache.redis.compression-threshold:512B}")
+    private DataSize compressionThreshold;
+
+    @Value("${cache.redis.time-to-live:0s}")
+    private Duration redisTimeToLive;
+
+    @Value("${cache.redis.refresh-after-write:0s}")
+    private Duration redisRefreshAfterWrite;
+
+    @Value("${cache.redis.not-found-time-to-live:30s}")
+    private Duration notFoundTimeToLive;
+
+    @Value("${cache.near.algorithm:TINYLFU}")
+    private String nearCacheAlgorithm;
+
+    @Value("${cache.near.size:1024}")
+    private int nearCacheSize;
+
+    @Value("${cache.near.max-weight:16MB}")
+    private DataSize nearCacheMaxWeight;
+
+    @Value("${cache.near.expire-after-write:1m}")
+    private Duration nearCacheExpireAfterWrite;
+
+    @Value("${cache.pages.size:256}")
+    private int pagesCacheSize;
+
+    @Value("${cache.pages.max-weight:16MB}")
+    private DataSize pagesMaxWeight;
+
+    @Value("${cache.pages.expire-after-write:30s}")
+    private Duration pagesExpireAfterWrite;
+
+    private final ExecutorService refreshExecutor = Executors.newFixedThreadPool(REFRESH_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "redis-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Bean
+    public CacheRegions cacheRegions(ObjectProvider<MeterRegistry> meterRegistry) {
+        CacheFactory factory = new CacheFactory();
+        CachePolicy policy = CachePolicy.builder()
+                .maxWeight(pagesMaxWeight.toBytes())
+                .weigher(new EstimatingWeigher())
+                .expireAfterWrite(pagesExpireAfterWrite)
+                .build();
+        return new CacheRegions(name -> factory.createCache("TINYLFU", pagesCacheSize, false, policy),
+                meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public RedisInvalidationChannel redisInvalidationChannel(StringRedisTemplate redisTemplate,
+                                                             ObjectProvider<NearCacheManager> cacheManager) {
+        return new RedisInvalidationChannel(redisTemplate, cacheManager::getObject);
+    }
+
+    @Bean
+    public RedisPageInvalidationChannel pageInvalidationChannel(StringRedisTemplate redisTemplate,
+                                                                ObjectMapper objectMapper,
+                                                                ObjectProvider<PageCache> pageCache) {
+        return new RedisPageInvalidationChannel(redisTemplate, objectMapper, pageCache::getObject);
+    }
+
+    @Bean
+    public NearCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                         RedisInvalidationChannel invalidationChannel,
+                                         ObjectProvider<CommentService> commentService) {
+        if (!CacheFactory.THREAD_SAFE_ALGORITHMS.contains(nearCacheAlgorithm)) {
+            throw new IllegalStateException("Near cache must be thread-safe, use TINYLFU or CONCURRENT_LRU algorithm");
+        }
+        CacheFactory factory = new CacheFactory();
+        CachePolicy policy = CachePolicy.builder()
+                .maxWeight(nearCacheMaxWeight.toBytes())
+                .weigher(new EstimatingWeigher())
+                .expireAfterWrite(nearCacheExpireAfterWrite)
+                .build();
+        if (!redisTimeToLive.isZero() && redisRefreshAfterWrite.compareTo(redisTimeToLive) >= 0) {
+            throw new IllegalStateException("Refresh time of Redis cache must be less than its time to live");
+        }
+        return new NearCacheManager(
+                RedisCacheManager.builder(connectionFactory).cacheDefaults(redisCacheConfiguration()).build(),
+                () -> createNearCache(factory, policy),
+                invalidationChannel,
+                this::createRefresher,
+                Map.of("Comments", id -> commentService.getObject().findById((Long) id))
+        );
+    }
+
+    /**
+     * Absent ids are kept in Redis only, so the other instances see their eviction at once
+     */
+    @Bean
+    public NotFoundCache notFoundCache(RedisConnectionFactory connectionFactory) {
+        if (notFoundTimeToLive.isZero()) {
+            return NotFoundCache.NONE;
+        }
+        return new SharedNotFoundCache(RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration().entryTtl(notFoundTimeToLive))
+                .build());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                        RedisInvalidationChannel invalidationChannel,
+                                                                        RedisPageInvalidationChannel pageChannel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationChannel, new ChannelTopic(RedisInvalidationChannel.CHANNEL));
+        container.addMessageListener(pageChannel, new ChannelTopic(RedisPageInvalidationChannel.CHANNEL));
+        return container;
+    }
+
+    @Bean
+    public EntityEviction commentEviction(NearCacheManager cacheManager) {
+        NearCache comments = cacheManager.getCache("Comments");
+        return ids -> ids.forEach(comments::evict);
+    }
+
+    /**
+     * Only Comments are cached by Redis, entries already cached by other instances are kept
+     */
+    @Bean
+    public CacheWarmUp cacheWarmUp(NearCacheManager cacheManager, NewsRepository newsRepository,
+                                   CommentRepository commentRepository, NewsMapper newsMapper,
+                                   CommentMapper commentMapper, WarmUpProperties properties,
+                                   ObjectProvider<HotKeys> hotKeys) {
+        NearCache comments = cacheManager.getCache("Comments");
+        return new CacheWarmUp(newsRepository, commentRepository, newsMapper, commentMapper, properties,
+                hotKeys.getIfAvailable(() -> HotKeys.NONE), System::nanoTime)
+                .comments(comments::putIfAbsent);
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration() {
+        BinaryValueSerializer serializer = new BinaryValueSerializer((int) compressionThreshold.toBytes());
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(redisTimeToLive)
+                .serializeValuesWith(SerializationPair.fromSerializer(new ValueRedisSerializer(serializer)));
+    }
+
+    /**
+     * Values are stamped by the wall clock, because they are shared by the instances
+     */
+    private Refresher createRefresher() {
+        if (redisRefreshAfterWrite.isZero()) {
+            return Refresher.disabled();
+        }
+        return new Refresher(redisRefreshAfterWrite, () -> TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()),
+                refreshExecutor);
+    }
+
+    @PreDestroy
+    public void shutdownRefreshExecutor() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private Cache createNearCache(CacheFactory factory, CachePolicy policy) {
+        return factory.createCache(nearCacheAlgorithm, nearCacheSize, false, policy);
+    }
 }
@@ -1,8 +1,17 @@
 package ru.clevertec.news.cache.factory;
 
 import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.impl.ConcurrentLRUCache;
 import ru.clevertec.news.cache.impl.LFUCache;
 import ru.clevertec.news.cache.impl.LRUCache;
+import ru.clevertec.news.cache.impl.SynchronizedCache;
+import ru.clevertec.news.cache.impl.TieredCache;
+import ru.clevertec.news.cache.impl.TinyLFUCache;
+import ru.clevertec.news.cache.offheap.OffHeapStore;
+import ru.clevertec.news.cache.serializer.BinaryValueSerializer;
+
+import java.util.List;
 
 /**
  * Class used for exception message transfer
@@ -11,14 +20,58 @@ import ru.clevertec.news.cache.impl.LRUCache;
  */
 public class CacheFactory {
 
+    /**
+     * Cache types created by {@link #createCache(String, int)}
+     */
+    public static final List<String> ALGORITHMS = List.of("LRU", "LFU", "CONCURRENT_LRU", "TINYLFU");
+
+    /**
+     * Cache types, that are safe to share by threads without external locking
+     */
+    public static final List<String> THREAD_SAFE_ALGORITHMS = List.of("CONCURRENT_LRU", "TINYLFU");
+
     /**
      * Factory-method used for cache creating
      */
     public Cache createCache(String cacheType, int cacheSize) {
+        return createCache(cacheType, cacheSize, false);
+    }
+
+    /**
+     * Factory-method used for cache creating, aging is applied to LFU cache only
+     */
+    public Cache createCache(String cacheType, int cacheSize, boolean aging) {
+        return createCache(cacheType, cacheSize, aging, CachePolicy.DEFAULT);
+    }
+
+    /**
+     * Factory-method used for cache creating with expiry and weight limit, aging is applied to LFU cache only
+     */
+    public Cache createCache(String cacheType, int cacheSize, boolean aging, CachePolicy policy) {
         return switch (cacheType) {
-            case "LFU" -> new LFUCache(cacheSize);
-            case "LRU" -> new LRUCache(cacheSize);
+            case "LFU" -> new LFUCache(cacheSize, aging, policy);
+            case "LRU" -> new LRUCache(cacheSize, policy);
+            case "CONCURRENT_LRU" -> new ConcurrentLRUCache(cacheSize, ConcurrentLRUCache.DEFAULT_CONCURRENCY_LEVEL, policy);
+            case "TINYLFU" -> new TinyLFUCache(cacheSize, policy);
             default -> null;
         };
     }
+
+    /**
+     * Factory-method used for creating the caches shared by threads, LFU and LRU caches are guarded by a single lock
+     */
+    public Cache createThreadSafeCache(String cacheType, int cacheSize, boolean aging, CachePolicy policy) {
+        Cache cache = createCache(cacheType, cacheSize, aging, policy);
+        if (cache == null || THREAD_SAFE_ALGORITHMS.contains(cacheType)) {
+            return cache;
+        }
+        return new SynchronizedCache(cache);
+    }
+
+    /**
+     * Factory-method used for two-tier cache creating, entries evicted from the heap cache are kept off-heap
+     */
+    public Cache createTieredCache(Cache heapCache, long offHeapBytes, int slabBytes) {
+        return new TieredCache(heapCache, new OffHeapStore(offHeapBytes, slabBytes, new BinaryValueSerializer()));
+    }
 }
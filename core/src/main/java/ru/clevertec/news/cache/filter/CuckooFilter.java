@@ -0,0 +1,214 @@
+package ru.clevertec.news.cache.filter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe cuckoo filter of long ids: a compact set, which may answer <b>maybe contains</b> for an absent id
+ * (false positive), but never answers <b>does not contain</b> for an added one. Unlike a Bloom filter it supports
+ * removal, an id must be removed only if it was added before.
+ * <p>
+ * Every id is stored as a 16-bit fingerprint in one of its two buckets of four slots, the second bucket is derived
+ * from the first one and the fingerprint, so an entry may be moved between them without the id. When an entry
+ * can not be placed even after relocations, the filter becomes saturated and answers <b>maybe</b> for every id.
+ * Reads are optimistic and take no lock unless they run into a write.
+ *
+ * @author Yuryeu Andrei
+ */
+public class CuckooFilter {
+
+    private static final int SLOTS_PER_BUCKET = 4;
+    private static final int FINGERPRINT_BITS = 16;
+    private static final int MAX_RELOCATIONS = 500;
+    private static final double MAX_LOAD_FACTOR = 0.95;
+
+    private final short[] slots;
+    private final int bucketMask;
+    private final StampedLock lock = new StampedLock();
+    private int size;
+    private boolean saturated;
+
+    /**
+     * @param capacity expected number of ids, the number of buckets is a power of two,
+     *                 so they are filled by 95% at most, when the filter holds that many ids
+     */
+    public CuckooFilter(int capacity) {
+        int needed = (int) Math.ceil(capacity / (SLOTS_PER_BUCKET * MAX_LOAD_FACTOR));
+        int buckets = needed <= 1 ? 1 : Integer.highestOneBit(needed - 1) << 1;
+        this.slots = new short[buckets * SLOTS_PER_BUCKET];
+        this.bucketMask = buckets - 1;
+    }
+
+    public boolean mightContain(long id) {
+        long hash = mix(id);
+        short fingerprint = fingerprint(hash);
+        int first = (int) hash & bucketMask;
+        int second = alternate(first, fingerprint);
+        long stamp = lock.tryOptimisticRead();
+        boolean found = saturated || contains(first, fingerprint) || contains(second, fingerprint);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = saturated || contains(first, fingerprint) || contains(second, fingerprint);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return false if the filter is saturated, it answers <b>maybe</b> for every id since then
+     */
+    public boolean add(long id) {
+        long hash = mix(id);
+        short fingerprint = fingerprint(hash);
+        int bucket = (int) hash & bucketMask;
+        long stamp = lock.writeLock();
+        try {
+            if (saturated) {
+                return false;
+            }
+            size++;
+            if (insert(bucket, fingerprint) || insert(alternate(bucket, fingerprint), fingerprint)) {
+                return true;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < MAX_RELOCATIONS; i++) {
+                if (random.nextBoolean()) {
+                    bucket = alternate(bucket, fingerprint);
+                }
+                int slot = bucket * SLOTS_PER_BUCKET + random.nextInt(SLOTS_PER_BUCKET);
+                short evicted = slots[slot];
+                slots[slot] = fingerprint;
+                fingerprint = evicted;
+                bucket = alternate(bucket, fingerprint);
+                if (insert(bucket, fingerprint)) {
+                    return true;
+                }
+            }
+            saturated = true;
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes one fingerprint of the id, removal of an id, that was not added, may remove another id
+     */
+    public void remove(long id) {
+        long hash = mix(id);
+        short fingerprint = fingerprint(hash);
+        int first = (int) hash & bucketMask;
+        long stamp = lock.writeLock();
+        try {
+            if (!saturated && (delete(first, fingerprint) || delete(alternate(first, fingerprint), fingerprint))) {
+                size--;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Number of the stored fingerprints
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long memoryBytes() {
+        return (long) slots.length * Short.BYTES;
+    }
+
+    /**
+     * Probability of the <b>maybe</b> answer for an absent id at the current load: an absent id is compared with
+     * the fingerprints of two buckets, every one of them matches with the probability of 2^-16
+     */
+    public double falsePositiveRate() {
+        long stamp = lock.readLock();
+        try {
+            if (saturated) {
+                return 1.0;
+            }
+            double comparisons = 2.0 * SLOTS_PER_BUCKET * size / slots.length;
+            return 1 - Math.pow(1 - Math.pow(2, -FINGERPRINT_BITS), comparisons);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isSaturated() {
+        long stamp = lock.readLock();
+        try {
+            return saturated;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean contains(int bucket, short fingerprint) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for (int slot = start; slot < start + SLOTS_PER_BUCKET; slot++) {
+            if (slots[slot] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean insert(int bucket, short fingerprint) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for (int slot = start; slot < start + SLOTS_PER_BUCKET; slot++) {
+            if (slots[slot] == 0) {
+                slots[slot] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean delete(int bucket, short fingerprint) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for (int slot = start; slot < start + SLOTS_PER_BUCKET; slot++) {
+            if (slots[slot] == fingerprint) {
+                slots[slot] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Partial-key cuckoo hashing, the alternate bucket of the alternate bucket is the original one
+     */
+    private int alternate(int bucket, short fingerprint) {
+        return (bucket ^ (int) mix(fingerprint)) & bucketMask;
+    }
+
+    /**
+     * Zero marks an empty slot, so it is never a fingerprint
+     */
+    private static short fingerprint(long hash) {
+        short fingerprint = (short) (hash >>> (Long.SIZE - FINGERPRINT_BITS));
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    /**
+     * Finalizer of MurmurHash3, spreads sequential ids over the buckets
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.clevertec.news.cache.filter;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.clevertec.news.repository.CommentRepository;
+import ru.clevertec.news.repository.NewsRepository;
+
+import java.util.stream.Stream;
+
+/**
+ * Loads the existence filters of News and Comments, when the application is ready. Ids are streamed
+ * in read-only transactions, so they are consistent snapshots and are never held in memory all at once
+ *
+ * @author Yuryeu Andrei
+ */
+public class ExistenceFilterLoader {
+
+    private final ExistenceFilters filters;
+    private final TransactionOperations readOnlyTransaction;
+    private final NewsRepository newsRepository;
+    private final CommentRepository commentRepository;
+
+    public ExistenceFilterLoader(ExistenceFilters filters, TransactionOperations readOnlyTransaction,
+                                 NewsRepository newsRepository, CommentRepository commentRepository) {
+        this.filters = filters;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.newsRepository = newsRepository;
+        this.commentRepository = commentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        load("news", newsRepository::streamAllIds);
+        load("comments", commentRepository::streamAllIds);
+    }
+
+    private void load(String name, IdScan idScan) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Long> ids = idScan.scan()) {
+                filters.load(name, ids);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface IdScan {
+
+        Stream<Long> scan();
+    }
+}
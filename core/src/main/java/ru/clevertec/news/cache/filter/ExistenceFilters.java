@@ -0,0 +1,157 @@
+package ru.clevertec.news.cache.filter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Named {@link CuckooFilter}s of the existing ids, so lookups of ids, that definitely do not exist,
+ * are rejected without the database. A filter is loaded from a scan of the ids on startup and is kept up to date
+ * by the services. Until it is loaded it answers <b>maybe</b>.
+ * <p>
+ * A filter answers for the ids up to the largest id it was loaded with, larger ids are always <b>maybe</b>,
+ * so ids created by other instances after the load are never rejected. Ids removed while the filter is loaded
+ * or removed by other instances stay in the filter as false positives.
+ *
+ * @author Yuryeu Andrei
+ */
+@Slf4j
+public class ExistenceFilters implements MeterBinder {
+
+    private static final ExistenceFilters DISABLED = new ExistenceFilters(Map.of());
+
+    private final Map<String, Filter> filters;
+
+    /**
+     * @param capacities expected number of ids of every filter by its name
+     */
+    public ExistenceFilters(Map<String, Integer> capacities) {
+        this.filters = capacities.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> new Filter(entry.getValue())));
+    }
+
+    /**
+     * Filters, which have no ids and answer <b>maybe</b> for every id
+     */
+    public static ExistenceFilters disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @return false if the entity with the id definitely does not exist
+     */
+    public boolean mightContain(String name, long id) {
+        Filter filter = filters.get(name);
+        return filter == null || id > filter.maxLoadedId || filter.cuckooFilter.mightContain(id);
+    }
+
+    /**
+     * Adds the id of the created entity before the commit, so it is never rejected after the commit
+     */
+    public void add(String name, long id) {
+        Filter filter = filters.get(name);
+        if (filter != null) {
+            filter.add(id);
+        }
+    }
+
+    /**
+     * Removes the id of the deleted entity after the commit, so it is never rejected, if the deletion is rolled back.
+     * It must be called only if the deletion removed a row, otherwise a concurrent deletion of the same id
+     * removes its fingerprint twice and the second removal may remove the fingerprint of another id
+     */
+    public void remove(String name, long id) {
+        Filter filter = filters.get(name);
+        if (filter == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    filter.remove(id);
+                }
+            });
+        } else {
+            filter.remove(id);
+        }
+    }
+
+    /**
+     * Loads the filter with the existing ids, the stream must be a consistent snapshot of them
+     *
+     * @return number of the loaded ids
+     */
+    public long load(String name, Stream<Long> ids) {
+        Filter filter = filters.get(name);
+        if (filter == null) {
+            return 0;
+        }
+        long[] loaded = new long[2];
+        ids.forEach(id -> {
+            filter.add(id);
+            loaded[0]++;
+            loaded[1] = Math.max(loaded[1], id);
+        });
+        filter.maxLoadedId = loaded[1];
+        log.info("Existence filter {} is loaded with {} ids, {} bytes", name, loaded[0], filter.cuckooFilter.memoryBytes());
+        return loaded[0];
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        filters.forEach((name, filter) -> {
+            CuckooFilter cuckooFilter = filter.cuckooFilter;
+            Gauge.builder("existence.filter.memory", cuckooFilter, CuckooFilter::memoryBytes)
+                    .tag("filter", name)
+                    .baseUnit("bytes")
+                    .description("Memory occupied by the existence filter")
+                    .register(registry);
+            Gauge.builder("existence.filter.size", cuckooFilter, CuckooFilter::size)
+                    .tag("filter", name)
+                    .description("Number of the ids in the existence filter")
+                    .register(registry);
+            Gauge.builder("existence.filter.false.positive.rate", cuckooFilter, CuckooFilter::falsePositiveRate)
+                    .tag("filter", name)
+                    .description("Estimated probability, that an absent id is not rejected")
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Ids are removed only after the load, the removed ids could be added by the load again otherwise
+     */
+    private static final class Filter {
+
+        private final CuckooFilter cuckooFilter;
+        private final AtomicBoolean saturationReported = new AtomicBoolean();
+        /**
+         * Negative until the filter is loaded, so no id is rejected
+         */
+        private volatile long maxLoadedId = -1;
+
+        private Filter(int capacity) {
+            this.cuckooFilter = new CuckooFilter(capacity);
+        }
+
+        private void add(long id) {
+            if (!cuckooFilter.add(id) && saturationReported.compareAndSet(false, true)) {
+                log.warn("Existence filter is saturated, it rejects no ids since now, increase its capacity");
+            }
+        }
+
+        private void remove(long id) {
+            if (maxLoadedId >= 0) {
+                cuckooFilter.remove(id);
+            }
+        }
+    }
+}
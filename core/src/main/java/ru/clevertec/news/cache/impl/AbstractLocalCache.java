@@ -0,0 +1,447 @@
+package ru.clevertec.news.cache.impl;
+
+import lombok.ToString;
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.EvictionListener;
+import ru.clevertec.news.cache.Weigher;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Base class for local cache types. Entries are kept in parallel arrays indexed by slot instead of node objects,
+ * a key is mapped to its slot by an open-addressing table of primitive ints (linear probing, backward shift
+ * deletion), so an entry costs neither a boxed key, nor a map node, nor an entry object.
+ * Subclasses keep their eviction order in int arrays indexed by the same slots.
+ * <p>
+ * The base class also keeps the weights of the entries and their expiry deadlines. Entries with a deadline
+ * are linked into a timer wheel of one-second buckets, every operation advances the wheel to the current time
+ * and removes the expired entries of the passed buckets, so expiry needs neither a scanning thread
+ * nor a scan of the whole cache. Timer arrays are allocated when the first entry with a deadline is set.
+ *
+ * @author Yuryeu Andrei
+ * @see CachePolicy
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public abstract class AbstractLocalCache implements Cache {
+
+    protected static final int NIL = -1;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final int INITIAL_SLOTS = 16;
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+    /**
+     * Bucket of the timer wheel lasts 2^30 ns (about a second), the wheel turns around in about 4.5 minutes
+     */
+    private static final int TICK_SHIFT = 30;
+    private static final int WHEEL_SIZE = 256;
+
+    @ToString.Include
+    protected final int capacity;
+    @ToString.Include
+    private final long maxWeight;
+    private final Weigher weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final LongSupplier ticker;
+
+    protected long[] keys;
+    protected Object[] values;
+    private int[] weights;
+    private long totalWeight;
+    private int[] freeSlots;
+    private int freeCount;
+    private int usedSlots;
+    /**
+     * Slot of the entry plus one, zero marks a free cell
+     */
+    private int[] table;
+    private int tableShift;
+    private int size;
+    private EvictionListener evictionListener;
+
+    private long[] deadlines;
+    private long[] writeDeadlines;
+    private int[] timerPrev;
+    private int[] timerNext;
+    private int[] wheel;
+    private long currentTick;
+    private long now;
+
+    protected AbstractLocalCache(int capacity) {
+        this(capacity, CachePolicy.DEFAULT);
+    }
+
+    protected AbstractLocalCache(int capacity, CachePolicy policy) {
+        this.capacity = capacity;
+        this.maxWeight = policy.getMaxWeight();
+        this.weigher = policy.getWeigher();
+        this.expireAfterWriteNanos = toNanos(policy.getExpireAfterWrite());
+        this.expireAfterAccessNanos = toNanos(policy.getExpireAfterAccess());
+        this.ticker = policy.getTicker();
+        int slots = Math.max(1, Math.min(capacity + 1, INITIAL_SLOTS));
+        this.keys = new long[slots];
+        this.values = new Object[slots];
+        this.weights = new int[slots];
+        this.freeSlots = new int[slots];
+        rebuildTable(slots);
+    }
+
+    @Override
+    public void set(long key, Object value) {
+        set(key, value, null);
+    }
+
+    /**
+     * Number of stored entries, expired entries are counted until they are removed by the next operation
+     */
+    @ToString.Include
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Map<Long, Object> getAll(Collection<Long> keys) {
+        long time = readTime();
+        Map<Long, Object> found = new HashMap<>();
+        for (Long key : keys) {
+            int slot = slotOf(key);
+            if (slot != NIL && !isExpired(slot, time)) {
+                found.put(key, values[slot]);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public long weight() {
+        return totalWeight;
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * Removes the slot from the eviction order of the subclass, the entry itself is removed by the caller
+     */
+    protected abstract void unlink(int slot);
+
+    /**
+     * Number of slots the subclass arrays must have, changes only in {@link #onGrow(int)}
+     */
+    protected final int slotCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Called after the slot arrays were grown, subclasses grow their own arrays to the same length
+     */
+    protected void onGrow(int length) {
+    }
+
+    /**
+     * @return slot of the entry with the given key or {@link #NIL} if there is no such entry
+     */
+    protected final int slotOf(long key) {
+        int mask = table.length - 1;
+        for (int i = indexOf(key); ; i = (i + 1) & mask) {
+            int slot = table[i] - 1;
+            if (slot == NIL) {
+                return NIL;
+            }
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Removes the expired entries and looks the key up, an expired entry of the key is removed as well
+     *
+     * @return slot of the live entry with the given key or {@link #NIL} if there is no such entry
+     */
+    protected final int liveSlotOf(long key) {
+        expireEntries();
+        int slot = slotOf(key);
+        if (slot != NIL && isExpired(slot)) {
+            unlink(slot);
+            removeEntry(slot);
+            return NIL;
+        }
+        return slot;
+    }
+
+    /**
+     * Advances the timer wheel to the current time, the entries of the passed buckets, that are expired, are removed
+     */
+    protected final void expireEntries() {
+        if (deadlines == null) {
+            return;
+        }
+        now = ticker.getAsLong();
+        long nowTick = now >> TICK_SHIFT;
+        if (nowTick == currentTick) {
+            return;
+        }
+        long fromTick = Math.max(currentTick, nowTick - WHEEL_SIZE + 1);
+        currentTick = nowTick;
+        for (long tick = fromTick; tick <= nowTick; tick++) {
+            int slot = wheel[(int) tick & (WHEEL_SIZE - 1)];
+            while (slot != NIL) {
+                int following = timerNext[slot];
+                if (isExpired(slot)) {
+                    unlink(slot);
+                    removeEntry(slot);
+                }
+                slot = following;
+            }
+        }
+    }
+
+    /**
+     * @return true if the entry outlived its deadline at the time of the last {@link #expireEntries()} call
+     */
+    protected final boolean isExpired(int slot) {
+        return isExpired(slot, now);
+    }
+
+    /**
+     * @param time time returned by {@link #readTime()}
+     */
+    protected final boolean isExpired(int slot, long time) {
+        return deadlines != null && deadlines[slot] != NO_DEADLINE && deadlines[slot] - time <= 0;
+    }
+
+    /**
+     * Returns the current time without advancing the timer wheel, so read-only scans skip the expired entries
+     * instead of removing them
+     */
+    protected final long readTime() {
+        return deadlines == null ? now : ticker.getAsLong();
+    }
+
+    /**
+     * Extends the deadline of the entry if the cache expires entries after access, the entry must be
+     * looked up by {@link #liveSlotOf(long)} in the same operation
+     */
+    protected final void onAccess(int slot) {
+        if (expireAfterAccessNanos > 0) {
+            schedule(slot, now);
+        }
+    }
+
+    protected final int weigh(Object value) {
+        return maxWeight > 0 ? weigher.weigh(value) : 0;
+    }
+
+    /**
+     * @return true if a value of such weight would not fit into the cache even alone
+     */
+    protected final boolean isTooHeavy(int weight) {
+        return maxWeight > 0 && weight > maxWeight;
+    }
+
+    /**
+     * @return true if the cache would exceed its capacity or its weight limit after adding the given amounts
+     */
+    protected final boolean exceeds(int addedEntries, int addedWeight) {
+        return size + addedEntries > capacity || maxWeight > 0 && totalWeight + addedWeight > maxWeight;
+    }
+
+    /**
+     * Stores a new entry, the key must be absent and must be looked up by {@link #liveSlotOf(long)}
+     * in the same operation
+     *
+     * @param timeToLive time to live of the entry or null to apply the expiry of the cache
+     * @return slot of the stored entry
+     */
+    protected final int addEntry(long key, Object value, int weight, Duration timeToLive) {
+        if (size == keys.length) {
+            grow();
+        }
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : usedSlots++;
+        keys[slot] = key;
+        values[slot] = value;
+        weights[slot] = weight;
+        totalWeight += weight;
+        int mask = table.length - 1;
+        int i = indexOf(key);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+        size++;
+        scheduleWrite(slot, timeToLive);
+        return slot;
+    }
+
+    /**
+     * Replaces the value of the entry, its expiry starts over
+     */
+    protected final void replaceValue(int slot, Object value, int weight, Duration timeToLive) {
+        values[slot] = value;
+        totalWeight += weight - weights[slot];
+        weights[slot] = weight;
+        scheduleWrite(slot, timeToLive);
+    }
+
+    /**
+     * Removes the entry stored in the slot, the slot may be reused by the next added entry
+     */
+    protected final void removeEntry(int slot) {
+        int mask = table.length - 1;
+        int gap = indexOf(keys[slot]);
+        while (table[gap] != slot + 1) {
+            gap = (gap + 1) & mask;
+        }
+        for (int i = (gap + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int home = indexOf(keys[table[i] - 1]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                table[gap] = table[i];
+                gap = i;
+            }
+        }
+        table[gap] = 0;
+        values[slot] = null;
+        totalWeight -= weights[slot];
+        unschedule(slot);
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    /**
+     * Removes the entry chosen by the eviction policy and notifies the eviction listener
+     */
+    protected final void evictEntry(int slot) {
+        long key = keys[slot];
+        Object value = values[slot];
+        removeEntry(slot);
+        if (evictionListener != null) {
+            evictionListener.onEviction(key, value);
+        }
+    }
+
+    private void scheduleWrite(int slot, Duration timeToLive) {
+        long writeNanos = timeToLive != null ? timeToLive.toNanos() : expireAfterWriteNanos;
+        if (writeNanos <= 0 && expireAfterAccessNanos <= 0) {
+            unschedule(slot);
+            return;
+        }
+        if (deadlines == null) {
+            allocateTimers();
+        }
+        writeDeadlines[slot] = writeNanos > 0 ? now + writeNanos : NO_DEADLINE;
+        schedule(slot, now);
+    }
+
+    /**
+     * Deadline is the earliest of the write deadline and the access deadline counted from the given time
+     */
+    private void schedule(int slot, long time) {
+        long deadline = writeDeadlines[slot];
+        if (expireAfterAccessNanos > 0 && (deadline == NO_DEADLINE || time + expireAfterAccessNanos - deadline < 0)) {
+            deadline = time + expireAfterAccessNanos;
+        }
+        unschedule(slot);
+        deadlines[slot] = deadline;
+        int bucket = (int) Math.max(deadline >> TICK_SHIFT, currentTick) & (WHEEL_SIZE - 1);
+        int head = wheel[bucket];
+        timerPrev[slot] = headMark(bucket);
+        timerNext[slot] = head;
+        if (head != NIL) {
+            timerPrev[head] = slot;
+        }
+        wheel[bucket] = slot;
+    }
+
+    private void unschedule(int slot) {
+        if (deadlines == null || deadlines[slot] == NO_DEADLINE) {
+            return;
+        }
+        int prev = timerPrev[slot];
+        int next = timerNext[slot];
+        if (prev < 0) {
+            wheel[headMark(prev)] = next;
+        } else {
+            timerNext[prev] = next;
+        }
+        if (next != NIL) {
+            timerPrev[next] = prev;
+        }
+        deadlines[slot] = NO_DEADLINE;
+    }
+
+    /**
+     * The first entry of a bucket keeps the negative mark of the bucket instead of the previous slot,
+     * the same function converts the mark back to the bucket
+     */
+    private static int headMark(int bucketOrMark) {
+        return -bucketOrMark - 2;
+    }
+
+    private void allocateTimers() {
+        int length = keys.length;
+        deadlines = new long[length];
+        Arrays.fill(deadlines, NO_DEADLINE);
+        writeDeadlines = new long[length];
+        timerPrev = new int[length];
+        timerNext = new int[length];
+        wheel = new int[WHEEL_SIZE];
+        Arrays.fill(wheel, NIL);
+        now = ticker.getAsLong();
+        currentTick = now >> TICK_SHIFT;
+    }
+
+    private void grow() {
+        int length = keys.length * 2;
+        keys = Arrays.copyOf(keys, length);
+        values = Arrays.copyOf(values, length);
+        weights = Arrays.copyOf(weights, length);
+        freeSlots = Arrays.copyOf(freeSlots, length);
+        if (deadlines != null) {
+            int oldLength = deadlines.length;
+            deadlines = Arrays.copyOf(deadlines, length);
+            Arrays.fill(deadlines, oldLength, length, NO_DEADLINE);
+            writeDeadlines = Arrays.copyOf(writeDeadlines, length);
+            timerPrev = Arrays.copyOf(timerPrev, length);
+            timerNext = Arrays.copyOf(timerNext, length);
+        }
+        rebuildTable(length);
+        onGrow(length);
+    }
+
+    /**
+     * Table is kept at least twice as large as the slot arrays, so probe sequences stay short
+     */
+    private void rebuildTable(int slots) {
+        int length = Integer.highestOneBit(slots) << 2;
+        table = new int[length];
+        tableShift = Long.numberOfLeadingZeros(length) + 1;
+        int mask = length - 1;
+        for (int slot = 0; slot < size; slot++) {
+            int i = indexOf(keys[slot]);
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = slot + 1;
+        }
+    }
+
+    /**
+     * Fibonacci hashing, spreads both dense sequential ids and ids with a common stride
+     */
+    private int indexOf(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> tableShift);
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration == null ? 0 : duration.toNanos();
+    }
+}
@@ -0,0 +1,226 @@
+package ru.clevertec.news.cache.impl;
+
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.EvictionListener;
+import ru.clevertec.news.cache.HotKey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe LRU cache type implementation. Keys are spread over independent {@link LRUCache} segments,
+ * every segment is guarded by its own lock, so threads working with different segments never wait for each other.
+ * Recency order is kept per segment, the total capacity is split between segments.
+ *
+ * @author Yuryeu Andrei
+ * @see LRUCache
+ */
+public class ConcurrentLRUCache implements Cache {
+
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 8;
+
+    private final LRUCache[] segments;
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public ConcurrentLRUCache(int capacity) {
+        this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public ConcurrentLRUCache(int capacity, int concurrencyLevel) {
+        this(capacity, concurrencyLevel, CachePolicy.DEFAULT);
+    }
+
+    /**
+     * Weight limit of the policy is split between segments in proportion to their capacity
+     */
+    public ConcurrentLRUCache(int capacity, int concurrencyLevel, CachePolicy policy) {
+        int segmentCount = segmentCount(capacity, concurrencyLevel);
+        this.segments = new LRUCache[segmentCount];
+        this.locks = new ReentrantLock[segmentCount];
+        this.mask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            int segmentCapacity = capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0);
+            long segmentWeight = capacity == 0 ? 0 : policy.getMaxWeight() * segmentCapacity / capacity;
+            segments[i] = new LRUCache(segmentCapacity, policy.toBuilder().maxWeight(segmentWeight).build());
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Object get(long key) {
+        int index = segmentIndex(key);
+        locks[index].lock();
+        try {
+            return segments[index].get(key);
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    @Override
+    public List<Object> getAll() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].lock();
+            try {
+                values.addAll(segments[i].getAll());
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Keys are grouped by segment, so every segment lock is taken once, the result is consistent per segment only
+     */
+    @Override
+    public Map<Long, Object> getAll(Collection<Long> keys) {
+        List<List<Long>> segmentKeys = new ArrayList<>(segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            segmentKeys.add(new ArrayList<>());
+        }
+        for (Long key : keys) {
+            segmentKeys.get(segmentIndex(key)).add(key);
+        }
+        Map<Long, Object> found = new HashMap<>();
+        for (int i = 0; i < segments.length; i++) {
+            if (segmentKeys.get(i).isEmpty()) {
+                continue;
+            }
+            locks[i].lock();
+            try {
+                found.putAll(segments[i].getAll(segmentKeys.get(i)));
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void set(long key, Object value) {
+        set(key, value, null);
+    }
+
+    @Override
+    public void set(long key, Object value, Duration timeToLive) {
+        int index = segmentIndex(key);
+        locks[index].lock();
+        try {
+            segments[index].set(key, value, timeToLive);
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    @Override
+    public void delete(long key) {
+        int index = segmentIndex(key);
+        locks[index].lock();
+        try {
+            segments[index].delete(key);
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    /**
+     * Interleaves the keys of the segments, every segment from the most to the least recently used one
+     */
+    @Override
+    public List<HotKey> hotKeys() {
+        List<List<HotKey>> segmentKeys = new ArrayList<>(segments.length);
+        int total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].lock();
+            try {
+                segmentKeys.add(segments[i].hotKeys());
+                total += segmentKeys.get(i).size();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        List<HotKey> hotKeys = new ArrayList<>(total);
+        for (int position = 0; hotKeys.size() < total; position++) {
+            for (List<HotKey> keys : segmentKeys) {
+                if (position < keys.size()) {
+                    hotKeys.add(keys.get(position));
+                }
+            }
+        }
+        return hotKeys;
+    }
+
+    @Override
+    public void restore(long key, Object value, long useCount) {
+        int index = segmentIndex(key);
+        locks[index].lock();
+        try {
+            segments[index].restore(key, value, useCount);
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].lock();
+            try {
+                size += segments[i].size();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public long weight() {
+        long weight = 0;
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].lock();
+            try {
+                weight += segments[i].weight();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return weight;
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener listener) {
+        for (LRUCache segment : segments) {
+            segment.setEvictionListener(listener);
+        }
+    }
+
+    /**
+     * Spreads the higher bits of the key downwards (as ConcurrentHashMap does),
+     * so dense sequential ids are distributed over the segments evenly
+     */
+    int segmentIndex(long key) {
+        int hash = Long.hashCode(key);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Power of two not greater than concurrency level, segments are not made smaller
+     * than {@value MIN_SEGMENT_CAPACITY} entries to keep recency order meaningful
+     */
+    private static int segmentCount(int capacity, int concurrencyLevel) {
+        int bound = Math.max(1, Math.min(concurrencyLevel, capacity / MIN_SEGMENT_CAPACITY));
+        return Integer.highestOneBit(bound);
+    }
+}
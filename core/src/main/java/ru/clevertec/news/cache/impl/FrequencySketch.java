@@ -0,0 +1,82 @@
+package ru.clevertec.news.cache.impl;
+
+/**
+ * Count-min sketch with 4-bit counters used by {@link TinyLFUCache} to estimate how often a key was requested.
+ * Every long of the table holds 16 counters, every key is counted in 4 of them. When the number of recorded
+ * accesses reaches the sample size all the counters are halved, so the history fades out over time.
+ *
+ * @author Yuryeu Andrei
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int length = Math.max(8, Integer.highestOneBit(Math.max(1, capacity) - 1) << 1);
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = 10 * Math.max(1, capacity);
+    }
+
+    /**
+     * Returns the estimated number of accesses to the key, not greater than {@value MAX_COUNT}
+     */
+    int frequency(long key) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long hash = hash(key, i);
+            int shift = counterShift(hash);
+            int count = (int) ((table[tableIndex(hash)] >>> shift) & MAX_COUNT);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access to the key, counters that are already saturated are left as they are
+     */
+    void increment(long key) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long hash = hash(key, i);
+            int index = tableIndex(hash);
+            int shift = counterShift(hash);
+            if (((table[index] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int tableIndex(long hash) {
+        return (int) (hash >>> 32) & tableMask;
+    }
+
+    private static int counterShift(long hash) {
+        return (int) (hash & 15) << 2;
+    }
+
+    private static long hash(long key, int depth) {
+        long hash = (key + SEEDS[depth]) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -1,90 +1,264 @@
 package ru.clevertec.news.cache.impl;
 
-import lombok.EqualsAndHashCode;
-import lombok.ToString;
-import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.HotKey;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
- * LFU cache type implementation
+ * LFU cache type implementation. Entries are kept in a list of frequency buckets sorted by use count,
+ * every bucket holds its entries from the least to the most recently used one, so get, set and eviction
+ * take constant time. Optional dynamic aging (LFU-DA): a new entry starts with the use count of the last evicted
+ * one, so entries, that were popular long ago, are outrun by the current ones and lose their rank eventually.
+ * Both entries and buckets are kept in int arrays, bucket 0 is the head of the circular bucket list.
  *
  * @author Yuryeu Andrei
+ * @see AbstractLocalCache
  */
-@EqualsAndHashCode
-@ToString
-public class LFUCache implements Cache {
+public class LFUCache extends AbstractLocalCache {
 
-    @ToString
-    private static class Node {
+    private static final int BUCKETS = 0;
 
-        Object value;
-        int useCount;
-        long lastGetTime;
+    private final boolean aging;
+    private long cacheAge;
 
-        public Node(Object value, int useCount) {
-            this.value = value;
-            this.useCount = useCount;
-        }
-    }
+    private int[] prev;
+    private int[] next;
+    private int[] bucketOf;
 
-    private final int capacity;
-    private final Map<Long, Node> cache;
+    private long[] useCounts;
+    private int[] bucketPrev;
+    private int[] bucketNext;
+    private int[] bucketHead;
+    private int[] bucketTail;
+    private int[] freeBuckets;
+    private int freeBucketCount;
+    private int usedBuckets;
 
     public LFUCache(int capacity) {
-        this.capacity = capacity;
-        this.cache = new HashMap<>();
+        this(capacity, false);
+    }
+
+    public LFUCache(int capacity, boolean aging) {
+        this(capacity, aging, CachePolicy.DEFAULT);
+    }
+
+    public LFUCache(int capacity, boolean aging, CachePolicy policy) {
+        super(capacity, policy);
+        this.aging = aging;
+        this.prev = new int[slotCapacity()];
+        this.next = new int[slotCapacity()];
+        this.bucketOf = new int[slotCapacity()];
+        growBuckets(bucketCapacity(slotCapacity()));
+        useCounts[BUCKETS] = -1;
+        bucketPrev[BUCKETS] = BUCKETS;
+        bucketNext[BUCKETS] = BUCKETS;
+        usedBuckets = 1;
     }
 
     @Override
-    public Object get(Long key) {
-        if (!cache.containsKey(key)) {
+    public Object get(long key) {
+        int slot = liveSlotOf(key);
+        if (slot == NIL) {
             return null;
         }
-        cache.get(key).useCount++;
-        cache.get(key).lastGetTime = System.nanoTime();
-        return cache.get(key).value;
+        onAccess(slot);
+        increment(slot);
+        return values[slot];
     }
 
+    /**
+     * Returns the values from the most to the least frequently used one
+     */
     @Override
     public List<Object> getAll() {
-        return cache.keySet().stream().map(this::get).toList();
+        long time = readTime();
+        List<Object> all = new ArrayList<>(size());
+        for (int bucket = bucketPrev[BUCKETS]; bucket != BUCKETS; bucket = bucketPrev[bucket]) {
+            for (int slot = bucketHead[bucket]; slot != NIL; slot = next[slot]) {
+                if (!isExpired(slot, time)) {
+                    all.add(values[slot]);
+                }
+            }
+        }
+        return all;
     }
 
+    /**
+     * Returns the keys from the most to the least frequently used one with their use counts,
+     * keys with the same use count from the most to the least recently used one
+     */
     @Override
-    public void set(Long key, Object value) {
-        if (get(key) != null) {
-            cache.get(key).value = value;
+    public List<HotKey> hotKeys() {
+        long time = readTime();
+        List<HotKey> hotKeys = new ArrayList<>(size());
+        for (int bucket = bucketPrev[BUCKETS]; bucket != BUCKETS; bucket = bucketPrev[bucket]) {
+            for (int slot = bucketTail[bucket]; slot != NIL; slot = prev[slot]) {
+                if (!isExpired(slot, time)) {
+                    hotKeys.add(new HotKey(keys[slot], useCounts[bucket]));
+                }
+            }
+        }
+        return hotKeys;
+    }
+
+    /**
+     * Moves the stored entry to the bucket of its use count, it becomes the most recently used one there
+     */
+    @Override
+    public void restore(long key, Object value, long useCount) {
+        set(key, value);
+        int slot = liveSlotOf(key);
+        if (slot == NIL || useCounts[bucketOf[slot]] >= useCount) {
             return;
         }
-        if (capacity == 0) return;
-        if (cache.size() >= capacity) {
+        unlink(slot);
+        int bucket = bucketPrev[BUCKETS];
+        while (bucket != BUCKETS && useCounts[bucket] > useCount) {
+            bucket = bucketPrev[bucket];
+        }
+        if (useCounts[bucket] != useCount) {
+            bucket = addBucketAfter(bucket, useCount);
+        }
+        append(bucket, slot);
+    }
+
+    @Override
+    public void set(long key, Object value, Duration timeToLive) {
+        int slot = liveSlotOf(key);
+        int weight = weigh(value);
+        if (slot != NIL) {
+            if (isTooHeavy(weight)) {
+                unlink(slot);
+                removeEntry(slot);
+                return;
+            }
+            replaceValue(slot, value, weight, timeToLive);
+            increment(slot);
+            while (exceeds(0, 0)) {
+                removeMin();
+            }
+            return;
+        }
+        if (capacity == 0 || isTooHeavy(weight)) return;
+        while (size() > 0 && exceeds(1, weight)) {
             removeMin();
         }
-        Node node = new Node(value, 0);
-        node.lastGetTime = System.nanoTime();
-        cache.put(key, node);
+        slot = addEntry(key, value, weight, timeToLive);
+        int first = bucketNext[BUCKETS];
+        long useCount = aging ? cacheAge : 0;
+        if (first == BUCKETS || useCounts[first] != useCount) {
+            first = addBucketAfter(BUCKETS, useCount);
+        }
+        append(first, slot);
     }
 
     @Override
-    public void delete(Long key) {
-        cache.remove(key);
+    public void delete(long key) {
+        int slot = liveSlotOf(key);
+        if (slot != NIL) {
+            unlink(slot);
+            removeEntry(slot);
+        }
+    }
+
+    @Override
+    protected void onGrow(int length) {
+        prev = Arrays.copyOf(prev, length);
+        next = Arrays.copyOf(next, length);
+        bucketOf = Arrays.copyOf(bucketOf, length);
+        growBuckets(bucketCapacity(length));
+    }
+
+    /**
+     * Moves the entry to the bucket with the next use count, the entry becomes the most recently used one there
+     */
+    private void increment(int slot) {
+        int current = bucketOf[slot];
+        int following = bucketNext[current];
+        if (following == BUCKETS || useCounts[following] != useCounts[current] + 1) {
+            following = addBucketAfter(current, useCounts[current] + 1);
+        }
+        unlink(slot);
+        append(following, slot);
     }
 
+    /**
+     * Removes the least recently used entry of the least frequently used bucket
+     */
     private void removeMin() {
-        int minCount = Integer.MAX_VALUE;
-        long currTime = System.nanoTime();
-        Long minKey = 0L;
-        for (Long key : cache.keySet()) {
-            Node node = cache.get(key);
-            if (node.useCount < minCount || (node.useCount == minCount && node.lastGetTime < currTime)) {
-                minKey = key;
-                minCount = node.useCount;
-                currTime = node.lastGetTime;
-            }
+        int first = bucketNext[BUCKETS];
+        int victim = bucketHead[first];
+        if (aging) {
+            cacheAge = useCounts[first];
         }
-        cache.remove(minKey);
+        unlink(victim);
+        evictEntry(victim);
+    }
+
+    private int addBucketAfter(int bucket, long useCount) {
+        int added = freeBucketCount > 0 ? freeBuckets[--freeBucketCount] : usedBuckets++;
+        useCounts[added] = useCount;
+        bucketHead[added] = NIL;
+        bucketTail[added] = NIL;
+        bucketPrev[added] = bucket;
+        bucketNext[added] = bucketNext[bucket];
+        bucketPrev[bucketNext[bucket]] = added;
+        bucketNext[bucket] = added;
+        return added;
+    }
+
+    private void append(int bucket, int slot) {
+        bucketOf[slot] = bucket;
+        prev[slot] = bucketTail[bucket];
+        next[slot] = NIL;
+        if (bucketTail[bucket] == NIL) {
+            bucketHead[bucket] = slot;
+        } else {
+            next[bucketTail[bucket]] = slot;
+        }
+        bucketTail[bucket] = slot;
+    }
+
+    /**
+     * Unlinks the entry from its bucket, the bucket is removed as soon as it becomes empty
+     */
+    @Override
+    protected void unlink(int slot) {
+        int bucket = bucketOf[slot];
+        if (prev[slot] == NIL) {
+            bucketHead[bucket] = next[slot];
+        } else {
+            next[prev[slot]] = next[slot];
+        }
+        if (next[slot] == NIL) {
+            bucketTail[bucket] = prev[slot];
+        } else {
+            prev[next[slot]] = prev[slot];
+        }
+        if (bucketHead[bucket] == NIL) {
+            bucketNext[bucketPrev[bucket]] = bucketNext[bucket];
+            bucketPrev[bucketNext[bucket]] = bucketPrev[bucket];
+            freeBuckets[freeBucketCount++] = bucket;
+        }
+    }
+
+    /**
+     * Every entry may have its own bucket, plus the head and a bucket created before the emptied one is removed
+     */
+    private static int bucketCapacity(int slots) {
+        return slots + 2;
+    }
+
+    private void growBuckets(int length) {
+        useCounts = useCounts == null ? new long[length] : Arrays.copyOf(useCounts, length);
+        bucketPrev = bucketPrev == null ? new int[length] : Arrays.copyOf(bucketPrev, length);
+        bucketNext = bucketNext == null ? new int[length] : Arrays.copyOf(bucketNext, length);
+        bucketHead = bucketHead == null ? new int[length] : Arrays.copyOf(bucketHead, length);
+        bucketTail = bucketTail == null ? new int[length] : Arrays.copyOf(bucketTail, length);
+        freeBuckets = freeBuckets == null ? new int[length] : Arrays.copyOf(freeBuckets, length);
     }
 }
@@ -1,100 +1,147 @@
 package ru.clevertec.news.cache.impl;
 
-import lombok.EqualsAndHashCode;
-import lombok.ToString;
-import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.HotKey;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
- * LRU cache type implementation
+ * LRU cache type implementation. Recency order is a doubly linked list of slots kept in int arrays,
+ * from the least to the most recently used entry.
  *
  * @author Yuryeu Andrei
+ * @see AbstractLocalCache
  */
-@EqualsAndHashCode
-@ToString
-public class LRUCache implements Cache {
+public class LRUCache extends AbstractLocalCache {
 
-    @ToString
-    private static class Node {
+    private int[] prev;
+    private int[] next;
+    private int head = NIL;
+    private int tail = NIL;
 
-        @ToString.Exclude
-        Node prev;
-        @ToString.Exclude
-        Node next;
-        Long key;
-        Object value;
-
-        public Node(Long key, Object value) {
-            this.key = key;
-            this.value = value;
-            prev = next = null;
-        }
+    public LRUCache(int capacity) {
+        this(capacity, CachePolicy.DEFAULT);
     }
 
-    private final int capacity;
-    private final Map<Long, Node> cache;
-    @ToString.Exclude
-    private final Node head;
-    @ToString.Exclude
-    private final Node tail;
-
-    public LRUCache(int capacity) {
-        this.capacity = capacity;
-        this.cache = new HashMap<>();
-        head = new Node(null, null);
-        tail = new Node(null, null);
-        head.next = tail;
-        tail.prev = head;
+    public LRUCache(int capacity, CachePolicy policy) {
+        super(capacity, policy);
+        this.prev = new int[slotCapacity()];
+        this.next = new int[slotCapacity()];
     }
 
     @Override
-    public Object get(Long key) {
-        if (cache.containsKey(key)) {
-            Node cur = cache.get(key);
-            cur.prev.next = cur.next;
-            cur.next.prev = cur.prev;
-            cur.prev = null;
-            cur.next = null;
-            moveToTail(cur);
-            return cache.get(key).value;
-        } else {
+    public Object get(long key) {
+        int slot = liveSlotOf(key);
+        if (slot == NIL) {
             return null;
         }
+        onAccess(slot);
+        unlink(slot);
+        moveToTail(slot);
+        return values[slot];
     }
 
+    /**
+     * Returns the values from the least to the most recently used one
+     */
     @Override
     public List<Object> getAll() {
-        return cache.keySet().stream().map(this::get).toList();
+        long time = readTime();
+        List<Object> all = new ArrayList<>(size());
+        for (int slot = head; slot != NIL; slot = next[slot]) {
+            if (!isExpired(slot, time)) {
+                all.add(values[slot]);
+            }
+        }
+        return all;
     }
 
+    /**
+     * Returns the keys from the most to the least recently used one
+     */
     @Override
-    public void set(Long key, Object value) {
-        if (get(key) != null) {
-            cache.get(key).value = value;
+    public List<HotKey> hotKeys() {
+        long time = readTime();
+        List<HotKey> hotKeys = new ArrayList<>(size());
+        for (int slot = tail; slot != NIL; slot = prev[slot]) {
+            if (!isExpired(slot, time)) {
+                hotKeys.add(new HotKey(keys[slot], 0));
+            }
+        }
+        return hotKeys;
+    }
+
+    @Override
+    public void set(long key, Object value, Duration timeToLive) {
+        int slot = liveSlotOf(key);
+        int weight = weigh(value);
+        if (slot != NIL) {
+            unlink(slot);
+            if (isTooHeavy(weight)) {
+                removeEntry(slot);
+                return;
+            }
+            replaceValue(slot, value, weight, timeToLive);
+            moveToTail(slot);
+            evictWhile(0, 0);
             return;
         }
-        if (cache.size() == capacity) {
-            cache.remove(head.next.key);
-            head.next = head.next.next;
-            head.next.prev = head;
+        if (capacity == 0 || isTooHeavy(weight)) return;
+        evictWhile(1, weight);
+        moveToTail(addEntry(key, value, weight, timeToLive));
+    }
+
+    @Override
+    public void delete(long key) {
+        int slot = liveSlotOf(key);
+        if (slot != NIL) {
+            unlink(slot);
+            removeEntry(slot);
         }
-        Node newNode = new Node(key, value);
-        cache.put(key, newNode);
-        moveToTail(newNode);
     }
 
     @Override
-    public void delete(Long key) {
-        cache.remove(key);
+    protected void onGrow(int length) {
+        prev = Arrays.copyOf(prev, length);
+        next = Arrays.copyOf(next, length);
     }
 
-    private void moveToTail(Node cur) {
-        tail.prev.next = cur;
-        cur.prev = tail.prev;
-        cur.next = tail;
-        tail.prev = cur;
+    @Override
+    protected void unlink(int slot) {
+        if (prev[slot] == NIL) {
+            head = next[slot];
+        } else {
+            next[prev[slot]] = next[slot];
+        }
+        if (next[slot] == NIL) {
+            tail = prev[slot];
+        } else {
+            prev[next[slot]] = prev[slot];
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries until the given amounts fit into the cache
+     */
+    private void evictWhile(int addedEntries, int addedWeight) {
+        while (head != NIL && exceeds(addedEntries, addedWeight)) {
+            int eldest = head;
+            unlink(eldest);
+            evictEntry(eldest);
+        }
+    }
+
+    private void moveToTail(int slot) {
+        prev[slot] = tail;
+        next[slot] = NIL;
+        if (tail == NIL) {
+            head = slot;
+        } else {
+            next[tail] = slot;
+        }
+        tail = slot;
     }
 }
@@ -0,0 +1,143 @@
+package ru.clevertec.news.cache.impl;
+
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.EvictionListener;
+import ru.clevertec.news.cache.HotKey;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Makes a cache, that is not thread-safe (LFU or LRU), safe to share by request threads: every operation
+ * of the cache is guarded by a single lock, the eviction listener is called under it.
+ *
+ * @author Yuryeu Andrei
+ * @see ru.clevertec.news.cache.factory.CacheFactory#createThreadSafeCache
+ */
+public class SynchronizedCache implements Cache {
+
+    private final Cache cache;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SynchronizedCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Object get(long key) {
+        lock.lock();
+        try {
+            return cache.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Object> getAll() {
+        lock.lock();
+        try {
+            return cache.getAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Map<Long, Object> getAll(Collection<Long> keys) {
+        lock.lock();
+        try {
+            return cache.getAll(keys);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void set(long key, Object value) {
+        lock.lock();
+        try {
+            cache.set(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void set(long key, Object value, Duration timeToLive) {
+        lock.lock();
+        try {
+            cache.set(key, value, timeToLive);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(long key) {
+        lock.lock();
+        try {
+            cache.delete(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return cache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long weight() {
+        lock.lock();
+        try {
+            return cache.weight();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Long> tierHitCounts() {
+        return cache.tierHitCounts();
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener listener) {
+        lock.lock();
+        try {
+            cache.setEvictionListener(listener);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<HotKey> hotKeys() {
+        lock.lock();
+        try {
+            return cache.hotKeys();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void restore(long key, Object value, long useCount) {
+        lock.lock();
+        try {
+            cache.restore(key, value, useCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
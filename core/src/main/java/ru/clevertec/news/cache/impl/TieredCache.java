@@ -0,0 +1,218 @@
+package ru.clevertec.news.cache.impl;
+
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.EvictionListener;
+import ru.clevertec.news.cache.HotKey;
+import ru.clevertec.news.cache.offheap.OffHeapStore;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Two-tier cache type implementation. Hot entries are kept deserialized by the heap cache, entries evicted from it
+ * are moved to the {@link OffHeapStore} instead of being dropped, an entry found there is promoted back
+ * to the heap cache. So the heap cache stays small, while a much larger working set is kept without
+ * the garbage collection cost. Operations on the same key are serialized by lock stripes,
+ * thread-safety of the heap operations is provided by the heap cache itself. Expiry applies to the heap tier,
+ * an off-heap entry lives until it is promoted, deleted or displaced by newer records. Hits of every tier
+ * are reported by {@link #tierHitCounts()}.
+ *
+ * @author Yuryeu Andrei
+ * @see OffHeapStore
+ */
+public class TieredCache implements Cache {
+
+    private static final int STRIPES = 16;
+
+    private final Cache heapCache;
+    private final OffHeapStore offHeapStore;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final LongAdder heapHits = new LongAdder();
+    private final LongAdder offHeapHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TieredCache(Cache heapCache, OffHeapStore offHeapStore) {
+        this.heapCache = heapCache;
+        this.offHeapStore = offHeapStore;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        heapCache.setEvictionListener(this::demote);
+    }
+
+    @Override
+    public Object get(long key) {
+        Object value = heapCache.get(key);
+        if (value != null) {
+            heapHits.increment();
+            return value;
+        }
+        ReentrantLock lock = lockOf(key);
+        lock.lock();
+        try {
+            value = heapCache.get(key);
+            if (value != null) {
+                heapHits.increment();
+                return value;
+            }
+            value = offHeapStore.take(key);
+            if (value == null) {
+                misses.increment();
+                return null;
+            }
+            offHeapHits.increment();
+            heapCache.set(key, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the values of the heap cache in its own order followed by the off-heap values
+     */
+    @Override
+    public List<Object> getAll() {
+        List<Object> all = new ArrayList<>(heapCache.getAll());
+        all.addAll(offHeapStore.values());
+        return all;
+    }
+
+    /**
+     * Keys missing on heap are read from the off-heap tier, they are not moved to the heap tier
+     */
+    @Override
+    public Map<Long, Object> getAll(Collection<Long> keys) {
+        Map<Long, Object> found = heapCache.getAll(keys);
+        for (Long key : keys) {
+            if (!found.containsKey(key)) {
+                Object value = offHeapStore.get(key);
+                if (value != null) {
+                    found.put(key, value);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void set(long key, Object value) {
+        set(key, value, null);
+    }
+
+    @Override
+    public void set(long key, Object value, Duration timeToLive) {
+        ReentrantLock lock = lockOf(key);
+        lock.lock();
+        try {
+            offHeapStore.remove(key);
+            heapCache.set(key, value, timeToLive);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the keys of the heap cache, off-heap entries are not ordered
+     */
+    @Override
+    public List<HotKey> hotKeys() {
+        return heapCache.hotKeys();
+    }
+
+    @Override
+    public void restore(long key, Object value, long useCount) {
+        ReentrantLock lock = lockOf(key);
+        lock.lock();
+        try {
+            offHeapStore.remove(key);
+            heapCache.restore(key, value, useCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(long key) {
+        ReentrantLock lock = lockOf(key);
+        lock.lock();
+        try {
+            heapCache.delete(key);
+            offHeapStore.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return heapCache.size() + offHeapStore.size();
+    }
+
+    /**
+     * Weight of the heap tier, the off-heap tier is limited by its own memory budget
+     */
+    @Override
+    public long weight() {
+        return heapCache.weight();
+    }
+
+    /**
+     * Listener is notified when an entry leaves both tiers
+     */
+    @Override
+    public void setEvictionListener(EvictionListener listener) {
+        offHeapStore.setEvictionListener(listener);
+    }
+
+    @Override
+    public Map<String, Long> tierHitCounts() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        hits.put("heap", heapHits.sum());
+        hits.put("off-heap", offHeapHits.sum());
+        return hits;
+    }
+
+    public long heapHitCount() {
+        return heapHits.sum();
+    }
+
+    public long offHeapHitCount() {
+        return offHeapHits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Values, that can not be serialized, are just dropped like in a single-tier cache. The heap cache calls it
+     * under its own lock, while a write of the key holds the stripe of the key and waits for that lock, so the stripe
+     * is only tried: the value is dropped, when the key is being written, otherwise the write would remove
+     * the off-heap copy before it is stored and the stale copy would survive the written value
+     */
+    private void demote(long key, Object value) {
+        ReentrantLock lock = lockOf(key);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            offHeapStore.put(key, value);
+        } catch (IllegalArgumentException ex) {
+            offHeapStore.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockOf(long key) {
+        int h = Long.hashCode(key);
+        return locks[(h ^ h >>> 16) & (STRIPES - 1)];
+    }
+}
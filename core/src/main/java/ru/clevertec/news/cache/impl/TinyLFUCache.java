@@ -0,0 +1,280 @@
+package ru.clevertec.news.cache.impl;
+
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.HotKey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * W-TinyLFU cache type implementation. New entries are put into a small LRU admission window (1% of capacity),
+ * entries leaving the window compete with the eviction victim of the main segmented LRU region
+ * (probation and protected segments) and are admitted only if they were requested more often according to
+ * the {@link FrequencySketch}. So one-hit reads can not push the popular entries out, while the window
+ * still gives the recent entries a chance to become popular. All operations are guarded by a single lock,
+ * a hit does not allocate anything.
+ *
+ * @author Yuryeu Andrei
+ * @see FrequencySketch
+ * @see AbstractLocalCache
+ */
+public class TinyLFUCache extends AbstractLocalCache {
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final int maxWindow;
+    private final int maxProtected;
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int[] prev;
+    private int[] next;
+    private byte[] queueOf;
+    private final int[] heads = {NIL, NIL, NIL};
+    private final int[] tails = {NIL, NIL, NIL};
+    private final int[] queueSizes = new int[3];
+
+    public TinyLFUCache(int capacity) {
+        this(capacity, CachePolicy.DEFAULT);
+    }
+
+    public TinyLFUCache(int capacity, CachePolicy policy) {
+        super(capacity, policy);
+        this.maxWindow = Math.min(capacity, Math.max(1, capacity / 100));
+        this.maxProtected = (capacity - maxWindow) * 8 / 10;
+        this.sketch = new FrequencySketch(capacity);
+        this.prev = new int[slotCapacity()];
+        this.next = new int[slotCapacity()];
+        this.queueOf = new byte[slotCapacity()];
+    }
+
+    @Override
+    public Object get(long key) {
+        lock.lock();
+        try {
+            sketch.increment(key);
+            int slot = liveSlotOf(key);
+            if (slot == NIL) {
+                return null;
+            }
+            onAccess(slot);
+            onHit(slot);
+            return values[slot];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the values of the protected, probation and window segments,
+     * every segment from the least to the most recently used one
+     */
+    @Override
+    public List<Object> getAll() {
+        lock.lock();
+        try {
+            long time = readTime();
+            List<Object> all = new ArrayList<>(size());
+            for (byte queue : new byte[]{PROTECTED, PROBATION, WINDOW}) {
+                for (int slot = heads[queue]; slot != NIL; slot = next[slot]) {
+                    if (!isExpired(slot, time)) {
+                        all.add(values[slot]);
+                    }
+                }
+            }
+            return all;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Map<Long, Object> getAll(Collection<Long> keys) {
+        lock.lock();
+        try {
+            return super.getAll(keys);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the keys of the protected, probation and window segments, every segment from the most
+     * to the least recently used one, with their estimated frequencies
+     */
+    @Override
+    public List<HotKey> hotKeys() {
+        lock.lock();
+        try {
+            long time = readTime();
+            List<HotKey> hotKeys = new ArrayList<>(size());
+            for (byte queue : new byte[]{PROTECTED, PROBATION, WINDOW}) {
+                for (int slot = tails[queue]; slot != NIL; slot = prev[slot]) {
+                    if (!isExpired(slot, time)) {
+                        hotKeys.add(new HotKey(keys[slot], sketch.frequency(keys[slot])));
+                    }
+                }
+            }
+            return hotKeys;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Restores the estimated frequency of the key before it is stored, so it competes for admission
+     * as it did before
+     */
+    @Override
+    public void restore(long key, Object value, long useCount) {
+        lock.lock();
+        try {
+            for (int i = sketch.frequency(key); i < Math.min(useCount, FrequencySketch.MAX_COUNT); i++) {
+                sketch.increment(key);
+            }
+            set(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void set(long key, Object value, Duration timeToLive) {
+        lock.lock();
+        try {
+            int slot = liveSlotOf(key);
+            int weight = weigh(value);
+            if (slot != NIL) {
+                if (isTooHeavy(weight)) {
+                    unlink(slot);
+                    removeEntry(slot);
+                    return;
+                }
+                replaceValue(slot, value, weight, timeToLive);
+                onHit(slot);
+            } else {
+                if (capacity == 0 || isTooHeavy(weight)) return;
+                addLast(WINDOW, addEntry(key, value, weight, timeToLive));
+            }
+            while (heads[WINDOW] != NIL && (queueSizes[WINDOW] > maxWindow || exceeds(0, 0))) {
+                admit(heads[WINDOW]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(long key) {
+        lock.lock();
+        try {
+            int slot = liveSlotOf(key);
+            if (slot != NIL) {
+                unlink(slot);
+                removeEntry(slot);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return super.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long weight() {
+        lock.lock();
+        try {
+            return super.weight();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void onGrow(int length) {
+        prev = Arrays.copyOf(prev, length);
+        next = Arrays.copyOf(next, length);
+        queueOf = Arrays.copyOf(queueOf, length);
+    }
+
+    /**
+     * Window and protected entries become the most recently used ones in their segments,
+     * a probation entry is promoted to the protected segment, which may demote its least recently used entry
+     */
+    private void onHit(int slot) {
+        byte queue = queueOf[slot];
+        unlink(slot);
+        if (queue == PROBATION) {
+            addLast(PROTECTED, slot);
+            if (queueSizes[PROTECTED] > maxProtected) {
+                int demoted = heads[PROTECTED];
+                unlink(demoted);
+                addLast(PROBATION, demoted);
+            }
+        } else {
+            addLast(queue, slot);
+        }
+    }
+
+    /**
+     * Moves the candidate out of the window, while the cache exceeds its capacity or weight limit the candidate
+     * competes with the main victims depending on their estimated frequencies, the loser is evicted
+     */
+    private void admit(int candidate) {
+        unlink(candidate);
+        while (exceeds(0, 0)) {
+            int victim = heads[PROBATION] != NIL ? heads[PROBATION] : heads[PROTECTED];
+            if (victim == NIL || sketch.frequency(keys[candidate]) <= sketch.frequency(keys[victim])) {
+                evictEntry(candidate);
+                return;
+            }
+            unlink(victim);
+            evictEntry(victim);
+        }
+        addLast(PROBATION, candidate);
+    }
+
+    private void addLast(byte queue, int slot) {
+        queueOf[slot] = queue;
+        prev[slot] = tails[queue];
+        next[slot] = NIL;
+        if (tails[queue] == NIL) {
+            heads[queue] = slot;
+        } else {
+            next[tails[queue]] = slot;
+        }
+        tails[queue] = slot;
+        queueSizes[queue]++;
+    }
+
+    @Override
+    protected void unlink(int slot) {
+        byte queue = queueOf[slot];
+        if (prev[slot] == NIL) {
+            heads[queue] = next[slot];
+        } else {
+            next[prev[slot]] = next[slot];
+        }
+        if (next[slot] == NIL) {
+            tails[queue] = prev[slot];
+        } else {
+            prev[next[slot]] = prev[slot];
+        }
+        queueSizes[queue]--;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.clevertec.news.cache.near;
+
+/**
+ * Tells the other application instances to drop an entry from their near caches
+ *
+ * @author Yuryeu Andrei
+ */
+@FunctionalInterface
+public interface InvalidationPublisher {
+
+    InvalidationPublisher NONE = (cacheName, key) -> {
+    };
+
+    /**
+     * @param key key of the changed entry or null in case the whole cache was cleared
+     */
+    void publish(String cacheName, Long key);
+}
@@ -0,0 +1,251 @@
+package ru.clevertec.news.cache.near;
+
+import org.springframework.cache.support.SimpleValueWrapper;
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.EvictionListener;
+import ru.clevertec.news.cache.SingleFlight;
+import ru.clevertec.news.cache.refresh.EntryLoader;
+import ru.clevertec.news.cache.refresh.Refresher;
+import ru.clevertec.news.cache.refresh.Reloading;
+import ru.clevertec.news.cache.stats.CacheStats;
+import ru.clevertec.news.cache.stats.MeasuredCache;
+import ru.clevertec.news.cache.stats.StatsCounter;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Two-level Spring cache: a bounded in-process cache of the application (L1) in front of a shared cache (L2),
+ * e.g. Redis. Reads are served from L1 when possible, so a hit costs neither a network round-trip
+ * nor deserialization, misses are loaded from L2 and kept in L1. Writes go to L2 first and are published,
+ * so the other instances drop their stale L1 entries. Only entries with Long keys are kept in L1,
+ * null values are not kept in L1.
+ * <p>
+ * With refresh-ahead the values are kept in L2 stamped with their write time, a stale value read
+ * by {@link #get(Object, Callable)} is served, while it is reloaded in the background by the {@link EntryLoader}
+ * of the cache and the result is written to L2 and published like any other write. The value loader
+ * of the request is not reused, because it is bound to the advice chain of the request thread.
+ * <p>
+ * A read is counted as a hit, when the value is found in either level, the size, the weight
+ * and the evictions are the ones of L1.
+ *
+ * @author Yuryeu Andrei
+ * @see NearCacheManager
+ */
+public class NearCache implements org.springframework.cache.Cache, MeasuredCache {
+
+    private final String name;
+    private final Supplier<Cache> localCacheFactory;
+    private final org.springframework.cache.Cache sharedCache;
+    private final InvalidationPublisher publisher;
+    private final Refresher refresher;
+    private final EntryLoader reloader;
+    private final StatsCounter stats = new StatsCounter();
+    private volatile Cache localCache;
+
+    /**
+     * @param localCacheFactory creates thread-safe L1 caches, a new one is created when the cache is cleared
+     */
+    public NearCache(String name, Supplier<Cache> localCacheFactory,
+                     org.springframework.cache.Cache sharedCache, InvalidationPublisher publisher) {
+        this(name, localCacheFactory, sharedCache, publisher, Refresher.disabled(), null);
+    }
+
+    /**
+     * @param refresher refresh-ahead of L2 entries, its ticker must be the wall clock shared by the instances
+     * @param reloader  loads the fresh values of stale entries, they are not reloaded in case of null
+     */
+    public NearCache(String name, Supplier<Cache> localCacheFactory, org.springframework.cache.Cache sharedCache,
+                     InvalidationPublisher publisher, Refresher refresher, EntryLoader reloader) {
+        this.name = name;
+        this.localCacheFactory = localCacheFactory;
+        this.sharedCache = sharedCache;
+        this.publisher = publisher;
+        this.refresher = reloader == null ? Refresher.disabled() : refresher;
+        this.reloader = reloader;
+        this.localCache = createLocalCache();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return sharedCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object local = getLocal(key);
+        if (local != null) {
+            stats.recordGet(true);
+            return new SimpleValueWrapper(local);
+        }
+        ValueWrapper shared = sharedCache.get(key);
+        stats.recordGet(shared != null);
+        if (shared == null) {
+            return null;
+        }
+        Object value = Refresher.unwrap(shared.get());
+        putLocal(key, value);
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Concurrent loads are serialized by the shared cache, RedisCache synchronizes them per cache instance,
+     * so loads of different keys wait for each other too, a stale L2 value is reloaded
+     * in the background. The call made by the reload only invokes the value loader
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (Reloading.consume()) {
+            try {
+                return valueLoader.call();
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+        }
+        Object local = getLocal(key);
+        if (local != null) {
+            stats.recordGet(true);
+            return (T) local;
+        }
+        ValueWrapper shared = sharedCache.get(key);
+        stats.recordGet(shared != null);
+        Object stored;
+        if (shared != null) {
+            stored = shared.get();
+            SingleFlight.Loader reload = () -> Reloading.run(() -> reloader.load(key));
+            refresher.refreshIfStale(key, stored, stats.timed(reload), value -> {
+                writeShared(key, value);
+                publish(key);
+            });
+        } else {
+            Callable<T> timedLoader = stats.timed(valueLoader);
+            stored = sharedCache.get(key, () -> refresher.stamp(timedLoader.call()));
+        }
+        T value = (T) Refresher.unwrap(stored);
+        putLocal(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        stats.recordPut();
+        refresher.write(key, () -> writeShared(key, value));
+        publish(key);
+    }
+
+    /**
+     * Nothing is published, because the shared entry is not changed in case it is present
+     */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = sharedCache.putIfAbsent(key, refresher.stamp(value));
+        if (existing == null) {
+            stats.recordPut();
+            putLocal(key, value);
+            return null;
+        }
+        Object existingValue = Refresher.unwrap(existing.get());
+        putLocal(key, existingValue);
+        return new SimpleValueWrapper(existingValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        refresher.write(key, () -> {
+            sharedCache.evict(key);
+            invalidateLocal(key);
+        });
+        publish(key);
+    }
+
+    @Override
+    public void clear() {
+        refresher.clear(() -> {
+            sharedCache.clear();
+            clearLocal();
+        });
+        publisher.publish(name, null);
+    }
+
+    /**
+     * Drops the entry from L1 only, called when another instance changed the entry,
+     * so a reload of the entry in progress is discarded too
+     */
+    public void invalidateLocal(Object key) {
+        if (key instanceof Long id) {
+            refresher.write(id, () -> localCache.delete(id));
+        }
+    }
+
+    /**
+     * Drops all the entries from L1 only, called when another instance cleared the cache
+     */
+    public void clearLocal() {
+        refresher.clear(() -> localCache = createLocalCache());
+    }
+
+    @Override
+    public CacheStats stats() {
+        Cache cache = localCache;
+        return stats.snapshot(cache.size(), cache.weight());
+    }
+
+    private Cache createLocalCache() {
+        Cache cache = localCacheFactory.get();
+        cache.setEvictionListener(new EvictionListener() {
+
+            @Override
+            public void onEviction(long key, Object value) {
+                stats.recordEviction();
+            }
+
+            @Override
+            public boolean needsValue() {
+                return false;
+            }
+        });
+        return cache;
+    }
+
+    private void writeShared(Object key, Object value) {
+        sharedCache.put(key, refresher.stamp(value));
+        putLocal(key, value);
+    }
+
+    private Object getLocal(Object key) {
+        return key instanceof Long id ? localCache.get(id) : null;
+    }
+
+    private void putLocal(Object key, Object value) {
+        if (key instanceof Long id) {
+            if (value == null) {
+                localCache.delete(id);
+            } else {
+                localCache.set(id, value);
+            }
+        }
+    }
+
+    private void publish(Object key) {
+        if (key instanceof Long id) {
+            publisher.publish(name, id);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.clevertec.news.cache.near;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.refresh.EntryLoader;
+import ru.clevertec.news.cache.refresh.Refresher;
+import ru.clevertec.news.cache.stats.CacheStatsMetrics;
+import ru.clevertec.news.cache.stats.CacheStatsSource;
+import ru.clevertec.news.cache.stats.MeasuredCache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Composite cache manager, every cache of the shared cache manager is wrapped into a {@link NearCache}.
+ * Once bound to a registry, the statistics of every cache, including the ones created later, are published
+ * like the ones of the cache regions.
+ *
+ * @author Yuryeu Andrei
+ */
+public class NearCacheManager implements CacheManager, CacheStatsSource, MeterBinder {
+
+    private final CacheManager sharedCacheManager;
+    private final Supplier<Cache> localCacheFactory;
+    private final InvalidationPublisher publisher;
+    private final Supplier<Refresher> refresherFactory;
+    private final Map<String, EntryLoader> reloaders;
+    private final ConcurrentMap<String, NearCache> caches = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public NearCacheManager(CacheManager sharedCacheManager, Supplier<Cache> localCacheFactory,
+                            InvalidationPublisher publisher) {
+        this(sharedCacheManager, localCacheFactory, publisher, Refresher::disabled, Map.of());
+    }
+
+    /**
+     * @param refresherFactory creates the refresh-ahead of every cache
+     * @param reloaders        reload the stale entries of the caches by their names,
+     *                         caches without a reloader are not refreshed ahead
+     */
+    public NearCacheManager(CacheManager sharedCacheManager, Supplier<Cache> localCacheFactory,
+                            InvalidationPublisher publisher, Supplier<Refresher> refresherFactory,
+                            Map<String, EntryLoader> reloaders) {
+        this.sharedCacheManager = sharedCacheManager;
+        this.localCacheFactory = localCacheFactory;
+        this.publisher = publisher;
+        this.refresherFactory = refresherFactory;
+        this.reloaders = reloaders;
+    }
+
+    @Override
+    public NearCache getCache(String name) {
+        NearCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        org.springframework.cache.Cache sharedCache = sharedCacheManager.getCache(name);
+        if (sharedCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> {
+            NearCache nearCache = new NearCache(cacheName, localCacheFactory, sharedCache, publisher,
+                    refresherFactory.get(), reloaders.get(cacheName));
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                new CacheStatsMetrics(nearCache, Tags.empty()).bindTo(registry);
+            }
+            return nearCache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return sharedCacheManager.getCacheNames();
+    }
+
+    @Override
+    public Collection<? extends MeasuredCache> measuredCaches() {
+        return caches.values();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+        caches.values().forEach(cache -> new CacheStatsMetrics(cache, Tags.empty()).bindTo(registry));
+    }
+
+    /**
+     * Drops the entry from L1 of the cache, null key drops all its entries
+     */
+    public void invalidateLocal(String cacheName, Long key) {
+        NearCache cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clearLocal();
+        } else {
+            cache.invalidateLocal(key);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.clevertec.news.cache.near;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Redis pub/sub channel of the near cache invalidations. A message is <b>instance:cache:key</b>,
+ * where key is <b>*</b> for a cleared cache, messages of this instance are ignored.
+ *
+ * @author Yuryeu Andrei
+ */
+@RequiredArgsConstructor
+public class RedisInvalidationChannel implements InvalidationPublisher, MessageListener {
+
+    public static final String CHANNEL = "near-cache-invalidation";
+    private static final String ALL_KEYS = "*";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final Supplier<NearCacheManager> cacheManager;
+
+    @Override
+    public void publish(String cacheName, Long key) {
+        String message = instanceId + ":" + cacheName + ":" + (key == null ? ALL_KEYS : key.toString());
+        redisTemplate.convertAndSend(CHANNEL, message);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int instanceEnd = body.indexOf(':');
+        int cacheEnd = body.lastIndexOf(':');
+        if (instanceEnd < 0 || cacheEnd <= instanceEnd || body.substring(0, instanceEnd).equals(instanceId)) {
+            return;
+        }
+        String cacheName = body.substring(instanceEnd + 1, cacheEnd);
+        String key = body.substring(cacheEnd + 1);
+        cacheManager.get().invalidateLocal(cacheName, ALL_KEYS.equals(key) ? null : Long.valueOf(key));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.clevertec.news.cache.negative;
+
+import ru.clevertec.news.cache.region.CacheRegions;
+
+import java.time.Duration;
+
+/**
+ * Negative cache of the custom cache, absent ids of a region are kept in the separate bounded region
+ * <b>&lt;region&gt;-not-found</b>, so scans of absent ids never evict the cached entities
+ *
+ * @author Yuryeu Andrei
+ */
+public class LocalNotFoundCache implements NotFoundCache {
+
+    public static final String REGION_SUFFIX = "-not-found";
+
+    private final CacheRegions regions;
+    private final Duration timeToLive;
+
+    public LocalNotFoundCache(CacheRegions regions, Duration timeToLive) {
+        this.regions = regions;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public String get(String region, long id) {
+        return (String) regions.region(region + REGION_SUFFIX).get(id);
+    }
+
+    @Override
+    public void put(String region, long id, String message) {
+        regions.region(region + REGION_SUFFIX).set(id, message, timeToLive);
+    }
+
+    @Override
+    public void evict(String region, long id) {
+        regions.region(region + REGION_SUFFIX).delete(id);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.clevertec.news.cache.negative;
+
+/**
+ * Negative cache remembering for a short time, that an entity was not found, so repeated lookups of
+ * non-existent ids do not reach the database. An entry must be evicted, when an entity with its id is created
+ *
+ * @author Yuryeu Andrei
+ * @see ru.clevertec.news.aspect.NotFoundCachingAspect
+ */
+public interface NotFoundCache {
+
+    NotFoundCache NONE = new NotFoundCache() {
+        @Override
+        public String get(String region, long id) {
+            return null;
+        }
+
+        @Override
+        public void put(String region, long id, String message) {
+        }
+
+        @Override
+        public void evict(String region, long id) {
+        }
+    };
+
+    /**
+     * @return message of the not found exception or null if the id is not known to be absent
+     */
+    String get(String region, long id);
+
+    void put(String region, long id, String message);
+
+    void evict(String region, long id);
+}
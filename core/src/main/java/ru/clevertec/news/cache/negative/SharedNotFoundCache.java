@@ -0,0 +1,38 @@
+package ru.clevertec.news.cache.negative;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Negative cache shared by the instances, absent ids of a region are kept in the cache
+ * <b>&lt;region&gt;-not-found</b> of the cache manager, which expires them after a short time
+ *
+ * @author Yuryeu Andrei
+ */
+public class SharedNotFoundCache implements NotFoundCache {
+
+    private final CacheManager cacheManager;
+
+    public SharedNotFoundCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String get(String region, long id) {
+        return cache(region).get(id, String.class);
+    }
+
+    @Override
+    public void put(String region, long id, String message) {
+        cache(region).put(id, message);
+    }
+
+    @Override
+    public void evict(String region, long id) {
+        cache(region).evict(id);
+    }
+
+    private Cache cache(String region) {
+        return cacheManager.getCache(region + LocalNotFoundCache.REGION_SUFFIX);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.clevertec.news.cache.offheap;
+
+/**
+ * Open-addressing map from primitive keys to record addresses of the {@link OffHeapStore}
+ * (linear probing, backward shift deletion), the table doubles when it becomes half full
+ *
+ * @author Yuryeu Andrei
+ */
+class AddressTable {
+
+    static final long ABSENT = -1;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final int INITIAL_LENGTH = 64;
+
+    private long[] keys;
+    /**
+     * Address of the record plus one, zero marks a free cell
+     */
+    private long[] addresses;
+    private int shift;
+    private int size;
+
+    AddressTable() {
+        allocate(INITIAL_LENGTH);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return address of the record with the given key or {@link #ABSENT}
+     */
+    long get(long key) {
+        int mask = keys.length - 1;
+        for (int i = indexOf(key); addresses[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return addresses[i] - 1;
+            }
+        }
+        return ABSENT;
+    }
+
+    void put(long key, long address) {
+        int mask = keys.length - 1;
+        int i = indexOf(key);
+        while (addresses[i] != 0) {
+            if (keys[i] == key) {
+                addresses[i] = address + 1;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        addresses[i] = address + 1;
+        if (++size > keys.length >>> 1) {
+            resize();
+        }
+    }
+
+    /**
+     * @return address of the removed record or {@link #ABSENT}
+     */
+    long remove(long key) {
+        int mask = keys.length - 1;
+        int gap = indexOf(key);
+        while (addresses[gap] != 0 && keys[gap] != key) {
+            gap = (gap + 1) & mask;
+        }
+        if (addresses[gap] == 0) {
+            return ABSENT;
+        }
+        long removed = addresses[gap] - 1;
+        for (int i = (gap + 1) & mask; addresses[i] != 0; i = (i + 1) & mask) {
+            int home = indexOf(keys[i]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                addresses[gap] = addresses[i];
+                gap = i;
+            }
+        }
+        addresses[gap] = 0;
+        size--;
+        return removed;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldAddresses = addresses;
+        allocate(oldKeys.length << 1);
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldAddresses[j] != 0) {
+                int i = indexOf(oldKeys[j]);
+                while (addresses[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                addresses[i] = oldAddresses[j];
+            }
+        }
+    }
+
+    private void allocate(int length) {
+        keys = new long[length];
+        addresses = new long[length];
+        shift = Long.numberOfLeadingZeros(length) + 1;
+    }
+
+    private int indexOf(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> shift);
+    }
+}
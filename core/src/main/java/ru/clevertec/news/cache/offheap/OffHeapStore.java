@@ -0,0 +1,242 @@
+package ru.clevertec.news.cache.offheap;
+
+import ru.clevertec.news.cache.EvictionListener;
+import ru.clevertec.news.cache.serializer.ValueSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Store of serialized values kept in direct byte buffers outside the java heap, so the garbage collector
+ * neither copies nor scans them. The memory budget is split into slabs, used as a ring log: a record
+ * (key, length, bytes) is appended to the current slab, an updated value is appended again and the old record
+ * becomes garbage. When the ring wraps, the next slab is reused as a whole and its live records are evicted,
+ * so eviction is FIFO with slab granularity and costs no fragmentation. Slabs are allocated on first use.
+ * All operations are guarded by a single lock, values are serialized and deserialized outside of it.
+ *
+ * @author Yuryeu Andrei
+ * @see ValueSerializer
+ */
+public class OffHeapStore {
+
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final ValueSerializer serializer;
+    private final int slabBytes;
+    private final ByteBuffer[] slabs;
+    /**
+     * End of the written records of every slab
+     */
+    private final int[] limits;
+    private final AddressTable index = new AddressTable();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int writeSlab;
+    private int writeOffset;
+    private volatile EvictionListener evictionListener;
+
+    /**
+     * @param maxBytes  memory budget of the store, it is never exceeded
+     * @param slabBytes size of a single slab, a value larger than a slab is not stored
+     */
+    public OffHeapStore(long maxBytes, int slabBytes, ValueSerializer serializer) {
+        if (maxBytes <= HEADER_BYTES || slabBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Off-heap store is too small: " + maxBytes + " bytes");
+        }
+        this.serializer = serializer;
+        this.slabBytes = (int) Math.min(slabBytes, maxBytes);
+        int slabCount = (int) Math.min(Integer.MAX_VALUE, maxBytes / this.slabBytes);
+        this.slabs = new ByteBuffer[slabCount];
+        this.limits = new int[slabCount];
+    }
+
+    /**
+     * Listener notified when a value is dropped to free memory, values are deserialized only if the listener
+     * {@link EvictionListener#needsValue() needs them}
+     */
+    public void setEvictionListener(EvictionListener listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * @return false if the serialized value is larger than a slab, the previous value of the key is removed anyway
+     * @throws IllegalArgumentException in case the value can not be serialized
+     */
+    public boolean put(long key, Object value) {
+        byte[] bytes = serializer.serialize(value);
+        int recordBytes = HEADER_BYTES + bytes.length;
+        List<Evicted> evicted = null;
+        lock.lock();
+        try {
+            if (recordBytes > slabBytes) {
+                index.remove(key);
+                return false;
+            }
+            if (writeOffset + recordBytes > slabBytes || slabs[writeSlab] == null) {
+                evicted = nextSlab(key);
+            }
+            ByteBuffer slab = slabs[writeSlab];
+            slab.putLong(writeOffset, key);
+            slab.putInt(writeOffset + Long.BYTES, bytes.length);
+            slab.put(writeOffset + HEADER_BYTES, bytes);
+            index.put(key, address(writeSlab, writeOffset));
+            writeOffset += recordBytes;
+            limits[writeSlab] = writeOffset;
+        } finally {
+            lock.unlock();
+        }
+        notifyEvicted(evicted);
+        return true;
+    }
+
+    /**
+     * @return stored value or null if there is no value for the key
+     */
+    public Object get(long key) {
+        byte[] bytes;
+        lock.lock();
+        try {
+            bytes = read(index.get(key));
+        } finally {
+            lock.unlock();
+        }
+        return bytes == null ? null : serializer.deserialize(bytes);
+    }
+
+    /**
+     * Removes the value from the store
+     *
+     * @return removed value or null if there was no value for the key
+     */
+    public Object take(long key) {
+        byte[] bytes;
+        lock.lock();
+        try {
+            bytes = read(index.remove(key));
+        } finally {
+            lock.unlock();
+        }
+        return bytes == null ? null : serializer.deserialize(bytes);
+    }
+
+    public void remove(long key) {
+        lock.lock();
+        try {
+            index.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return all stored values, from the oldest written to the newest one
+     */
+    public List<Object> values() {
+        List<byte[]> all = new ArrayList<>();
+        lock.lock();
+        try {
+            for (int i = 1; i <= slabs.length; i++) {
+                int slabIndex = (writeSlab + i) % slabs.length;
+                forEachLive(slabIndex, (key, offset) -> all.add(read(address(slabIndex, offset))));
+            }
+        } finally {
+            lock.unlock();
+        }
+        List<Object> values = new ArrayList<>(all.size());
+        for (byte[] bytes : all) {
+            Object value = serializer.deserialize(bytes);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the write position to the beginning of the next slab, live records of that slab are evicted,
+     * except the record of the key being written, which is replaced rather than evicted
+     */
+    private List<Evicted> nextSlab(long writtenKey) {
+        if (slabs[writeSlab] != null) {
+            writeSlab = (writeSlab + 1) % slabs.length;
+        }
+        writeOffset = 0;
+        if (slabs[writeSlab] == null) {
+            slabs[writeSlab] = ByteBuffer.allocateDirect(slabBytes);
+            return null;
+        }
+        List<Evicted> evicted = new ArrayList<>();
+        EvictionListener listener = evictionListener;
+        boolean keepValues = listener != null && listener.needsValue();
+        boolean notify = listener != null;
+        forEachLive(writeSlab, (key, offset) -> {
+            byte[] bytes = keepValues ? read(address(writeSlab, offset)) : null;
+            index.remove(key);
+            if (key != writtenKey) {
+                evicted.add(new Evicted(key, bytes));
+            }
+        });
+        limits[writeSlab] = 0;
+        return notify ? evicted : null;
+    }
+
+    private void forEachLive(int slabIndex, RecordVisitor visitor) {
+        ByteBuffer slab = slabs[slabIndex];
+        if (slab == null) {
+            return;
+        }
+        int offset = 0;
+        while (offset < limits[slabIndex]) {
+            long key = slab.getLong(offset);
+            int length = slab.getInt(offset + Long.BYTES);
+            if (index.get(key) == address(slabIndex, offset)) {
+                visitor.visit(key, offset);
+            }
+            offset += HEADER_BYTES + length;
+        }
+    }
+
+    private byte[] read(long address) {
+        if (address == AddressTable.ABSENT) {
+            return null;
+        }
+        ByteBuffer slab = slabs[(int) (address >>> Integer.SIZE)];
+        int offset = (int) address;
+        byte[] bytes = new byte[slab.getInt(offset + Long.BYTES)];
+        slab.get(offset + HEADER_BYTES, bytes);
+        return bytes;
+    }
+
+    private void notifyEvicted(List<Evicted> evicted) {
+        EvictionListener listener = evictionListener;
+        if (evicted == null || listener == null) {
+            return;
+        }
+        for (Evicted entry : evicted) {
+            listener.onEviction(entry.key(), entry.bytes() == null ? null : serializer.deserialize(entry.bytes()));
+        }
+    }
+
+    private static long address(int slab, int offset) {
+        return ((long) slab << Integer.SIZE) | offset;
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+
+        void visit(long key, int offset);
+    }
+
+    private record Evicted(long key, byte[] bytes) {
+    }
+}
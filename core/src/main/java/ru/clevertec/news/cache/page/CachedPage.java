@@ -0,0 +1,21 @@
+package ru.clevertec.news.cache.page;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Cached result page with its key and the ids of its elements, which are indexed for invalidation
+ *
+ * @param filter   normalized filter of the query
+ * @param pageable requested page
+ * @param content  found elements
+ * @param ids      ids of the found elements
+ * @author Yuryeu Andrei
+ */
+public record CachedPage(Object filter, Pageable pageable, List<?> content, long[] ids) {
+
+    public boolean isPageOf(Object filter, Pageable pageable) {
+        return this.filter.equals(filter) && this.pageable.equals(pageable);
+    }
+}
@@ -0,0 +1,203 @@
+package ru.clevertec.news.cache.page;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.clevertec.news.cache.Cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the paginated query results. A page is cached in the region of its query by the normalized filter
+ * and the {@link Pageable}, so invalidation is targeted: a write evicts only the pages, that could have changed,
+ * which are selected by their filter and pageable or by the ids of their elements.
+ * The pages to evict are found by the {@link PageIndex} of the region, which becomes its eviction listener,
+ * only the pages actually stored by the region are indexed.
+ * Evictions are applied after the commit of the current transaction and then published to the other instances.
+ * Pages loaded concurrently with an eviction are not cached, because they may have been read before the change.
+ * Cached pages are read without locking, so the region caches must be thread-safe.
+ *
+ * @author Yuryeu Andrei
+ * @see CachedPage
+ */
+public class PageCache {
+
+    private final Function<String, Cache> regions;
+    private final PageInvalidationPublisher publisher;
+    private final Map<String, PageIndex> indexes = new ConcurrentHashMap<>();
+    private final ReadWriteLock evictionLock = new ReentrantReadWriteLock();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param regions provides the cache of the region by its name, pages are not cached in case of null
+     */
+    public PageCache(Function<String, Cache> regions) {
+        this(regions, PageInvalidationPublisher.NONE);
+    }
+
+    /**
+     * @param publisher publishes the evictions to the other instances after they are applied
+     */
+    public PageCache(Function<String, Cache> regions, PageInvalidationPublisher publisher) {
+        this.regions = regions;
+        this.publisher = publisher;
+    }
+
+    /**
+     * @return page cache, which always runs the queries
+     */
+    public static PageCache disabled() {
+        return new PageCache(name -> null);
+    }
+
+    /**
+     * Returns the cached page or loads and caches it
+     *
+     * @param region   name of the query region
+     * @param filter   normalized filter of the query, must implement equals and hashCode
+     * @param pageable requested page
+     * @param idOf     id of the page element
+     * @param loader   runs the query
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String region, Object filter, Pageable pageable, Function<T, Long> idOf,
+                           Supplier<List<T>> loader) {
+        Cache cache = regions.apply(region);
+        if (cache == null) {
+            return loader.get();
+        }
+        long key = keyOf(filter, pageable);
+        if (cache.get(key) instanceof CachedPage page && page.isPageOf(filter, pageable)) {
+            return (List<T>) page.content();
+        }
+        long evictionCount = evictions.get();
+        List<T> content = loader.get();
+        long[] ids = content.stream().map(idOf).mapToLong(Long::longValue).toArray();
+        PageIndex index = indexOf(region, cache);
+        evictionLock.readLock().lock();
+        try {
+            if (evictions.get() == evictionCount) {
+                cache.set(key, new CachedPage(filter, pageable, List.copyOf(content), ids));
+                if (cache.getAll(List.of(key)).containsKey(key)) {
+                    index.add(key, filter, pageable, ids);
+                }
+            }
+        } finally {
+            evictionLock.readLock().unlock();
+        }
+        if (index.size() > 2 * cache.size()) {
+            retainStored(cache, index);
+        }
+        return content;
+    }
+
+    /**
+     * Evicts the pages of the region, selected by their filter and pageable
+     */
+    public void evict(String region, PageEviction pages) {
+        evictAfterCommit(region, index -> index.keysOf(pages), () -> publisher.publish(region, pages));
+    }
+
+    /**
+     * Evicts the pages of the region, containing the element with the given id
+     */
+    public void evictContaining(String region, long id) {
+        evictAfterCommit(region, index -> index.keysContaining(id), () -> publisher.publishContaining(region, id));
+    }
+
+    /**
+     * Evicts the pages of the region at once without publishing, called when another instance evicted them
+     */
+    public void evictLocal(String region, PageEviction pages) {
+        evictLocal(region, index -> index.keysOf(pages));
+    }
+
+    /**
+     * Same as {@link #evictLocal(String, PageEviction)} for the pages containing the element with the given id
+     */
+    public void evictLocalContaining(String region, long id) {
+        evictLocal(region, index -> index.keysContaining(id));
+    }
+
+    private void evictLocal(String region, Function<PageIndex, List<Long>> pages) {
+        Cache cache = regions.apply(region);
+        if (cache != null) {
+            evictNow(cache, indexOf(region, cache), pages);
+        }
+    }
+
+    private void evictAfterCommit(String region, Function<PageIndex, List<Long>> pages, Runnable publish) {
+        Cache cache = regions.apply(region);
+        if (cache == null) {
+            return;
+        }
+        PageIndex index = indexOf(region, cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(cache, index, pages);
+                    publish.run();
+                }
+            });
+        } else {
+            evictNow(cache, index, pages);
+            publish.run();
+        }
+    }
+
+    private void evictNow(Cache cache, PageIndex index, Function<PageIndex, List<Long>> pages) {
+        evictionLock.writeLock().lock();
+        try {
+            evictions.incrementAndGet();
+            for (long key : pages.apply(index)) {
+                cache.delete(key);
+                index.remove(key);
+            }
+        } finally {
+            evictionLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of the pages indexed in the region
+     */
+    int indexedPages(String region) {
+        PageIndex index = indexes.get(region);
+        return index == null ? 0 : index.size();
+    }
+
+    /**
+     * The index is pruned, when it holds twice as many pages as the region, so its size stays bounded
+     * by the size of the region and the pruning costs amortized constant time per stored page.
+     * Stores are locked out meanwhile, so a page stored concurrently is never forgotten
+     */
+    private void retainStored(Cache cache, PageIndex index) {
+        evictionLock.writeLock().lock();
+        try {
+            index.retainStored(cache);
+        } finally {
+            evictionLock.writeLock().unlock();
+        }
+    }
+
+    private PageIndex indexOf(String region, Cache cache) {
+        return indexes.computeIfAbsent(region, name -> {
+            PageIndex index = new PageIndex();
+            cache.setEvictionListener(index);
+            return index;
+        });
+    }
+
+    private static long keyOf(Object filter, Pageable pageable) {
+        long hash = 31L * filter.hashCode() + pageable.hashCode();
+        return hash * 0x9E3779B97F4A7C15L;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.clevertec.news.cache.page;
+
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Selects the cached pages of a region, that could have changed by a write. Evictions published to the other
+ * instances must be records, they are sent as JSON and applied by every instance to its own pages.
+ *
+ * @author Yuryeu Andrei
+ * @see PageInvalidationPublisher
+ */
+@FunctionalInterface
+public interface PageEviction {
+
+    /**
+     * @param filter   normalized filter of the cached page
+     * @param pageable cached page
+     * @return true, if the page must be evicted
+     */
+    boolean test(Object filter, Pageable pageable);
+}
@@ -0,0 +1,122 @@
+package ru.clevertec.news.cache.page;
+
+import org.springframework.data.domain.Pageable;
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.EvictionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index of the cached pages of one region, which maps the filters and the element ids to the page keys,
+ * so the pages to evict are found without reading the region. It is registered as the eviction listener
+ * of the region to forget the pages evicted to free capacity, the expired pages are removed by the region
+ * without notifying the listener, so they are forgotten by {@link #retainStored(Cache)}.
+ *
+ * @author Yuryeu Andrei
+ */
+class PageIndex implements EvictionListener {
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Object, Set<Long>> byFilter = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byId = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes the page stored by the key, replacing the page previously stored by the same key
+     */
+    void add(long key, Object filter, Pageable pageable, long[] ids) {
+        Entry previous = entries.put(key, new Entry(filter, pageable, ids));
+        if (previous != null) {
+            unlink(key, previous);
+        }
+        link(byFilter, filter, key);
+        for (long id : ids) {
+            link(byId, id, key);
+        }
+    }
+
+    void remove(long key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unlink(key, entry);
+        }
+    }
+
+    /**
+     * Forgets the pages, which are no longer stored in the region
+     */
+    void retainStored(Cache region) {
+        List<Long> keys = List.copyOf(entries.keySet());
+        Map<Long, Object> stored = region.getAll(keys);
+        for (Long key : keys) {
+            if (!stored.containsKey(key)) {
+                remove(key);
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return keys of the pages selected by their filter and pageable
+     */
+    List<Long> keysOf(PageEviction pages) {
+        List<Long> keys = new ArrayList<>();
+        byFilter.forEach((filter, filterKeys) -> {
+            for (Long key : filterKeys) {
+                Entry entry = entries.get(key);
+                if (entry != null && pages.test(filter, entry.pageable())) {
+                    keys.add(key);
+                }
+            }
+        });
+        return keys;
+    }
+
+    /**
+     * @return keys of the pages containing the element with the given id
+     */
+    List<Long> keysContaining(long id) {
+        return List.copyOf(byId.getOrDefault(id, Set.of()));
+    }
+
+    @Override
+    public void onEviction(long key, Object value) {
+        remove(key);
+    }
+
+    @Override
+    public boolean needsValue() {
+        return false;
+    }
+
+    private void unlink(long key, Entry entry) {
+        unlink(byFilter, entry.filter(), key);
+        for (long id : entry.ids()) {
+            unlink(byId, id, key);
+        }
+    }
+
+    private static <K> void link(Map<K, Set<Long>> index, K indexKey, long key) {
+        index.compute(indexKey, (k, keys) -> {
+            Set<Long> linked = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            linked.add(key);
+            return linked;
+        });
+    }
+
+    private static <K> void unlink(Map<K, Set<Long>> index, K indexKey, long key) {
+        index.computeIfPresent(indexKey, (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private record Entry(Object filter, Pageable pageable, long[] ids) {
+    }
+}
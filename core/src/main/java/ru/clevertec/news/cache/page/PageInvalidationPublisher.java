@@ -0,0 +1,30 @@
+package ru.clevertec.news.cache.page;
+
+/**
+ * Tells the other application instances to evict the pages from their page caches
+ *
+ * @author Yuryeu Andrei
+ */
+public interface PageInvalidationPublisher {
+
+    PageInvalidationPublisher NONE = new PageInvalidationPublisher() {
+
+        @Override
+        public void publish(String region, PageEviction pages) {
+        }
+
+        @Override
+        public void publishContaining(String region, long id) {
+        }
+    };
+
+    /**
+     * @param pages record selecting the pages to evict
+     */
+    void publish(String region, PageEviction pages);
+
+    /**
+     * @param id id of the element, which pages are evicted
+     */
+    void publishContaining(String region, long id);
+}
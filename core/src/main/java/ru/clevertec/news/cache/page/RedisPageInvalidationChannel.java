@@ -0,0 +1,86 @@
+package ru.clevertec.news.cache.page;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Redis pub/sub channel of the page evictions. A message is <b>instance:region:id:elementId</b> for the pages
+ * containing the element or <b>instance:region:type:json</b> for the pages selected by a {@link PageEviction} record,
+ * messages of this instance are ignored. Only records implementing {@link PageEviction} are read,
+ * a message, which can not be read, evicts all the pages of the region.
+ *
+ * @author Yuryeu Andrei
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisPageInvalidationChannel implements PageInvalidationPublisher, MessageListener {
+
+    public static final String CHANNEL = "page-cache-invalidation";
+    private static final String CONTAINING = "id";
+    private static final PageEviction ALL_PAGES = (filter, pageable) -> true;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper mapper;
+    private final Supplier<PageCache> pageCache;
+
+    /**
+     * @throws IllegalArgumentException in case the eviction is not a record
+     */
+    @Override
+    public void publish(String region, PageEviction pages) {
+        if (!pages.getClass().isRecord()) {
+            throw new IllegalArgumentException("Page eviction must be a record to be published: " + pages.getClass());
+        }
+        try {
+            send(region, pages.getClass().getName(), mapper.writeValueAsString(pages));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Unable to publish page eviction " + pages, ex);
+        }
+    }
+
+    @Override
+    public void publishContaining(String region, long id) {
+        send(region, CONTAINING, Long.toString(id));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 4);
+        if (parts.length < 4 || parts[0].equals(instanceId)) {
+            return;
+        }
+        String region = parts[1];
+        if (CONTAINING.equals(parts[2])) {
+            pageCache.get().evictLocalContaining(region, Long.parseLong(parts[3]));
+        } else {
+            pageCache.get().evictLocal(region, readEviction(parts[2], parts[3]));
+        }
+    }
+
+    private void send(String region, String type, String body) {
+        redisTemplate.convertAndSend(CHANNEL, instanceId + ":" + region + ":" + type + ":" + body);
+    }
+
+    private PageEviction readEviction(String typeName, String json) {
+        try {
+            Class<?> type = Class.forName(typeName, false, getClass().getClassLoader());
+            if (type.isRecord() && PageEviction.class.isAssignableFrom(type)) {
+                return (PageEviction) mapper.readValue(json, type);
+            }
+            log.warn("Page eviction of unexpected type {}, all the pages are evicted", typeName);
+        } catch (ClassNotFoundException | JsonProcessingException ex) {
+            log.warn("Unable to read page eviction {}, all the pages are evicted: {}", typeName, ex.toString());
+        }
+        return ALL_PAGES;
+    }
+}
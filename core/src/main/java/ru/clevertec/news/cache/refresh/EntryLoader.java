@@ -0,0 +1,14 @@
+package ru.clevertec.news.cache.refresh;
+
+/**
+ * Loads the fresh value of a cached entry by its key on the thread of the refresher,
+ * e.g. by calling findById of the service through its proxy
+ *
+ * @author Yuryeu Andrei
+ * @see Reloading
+ */
+@FunctionalInterface
+public interface EntryLoader {
+
+    Object load(Object key) throws Exception;
+}
@@ -0,0 +1,123 @@
+package ru.clevertec.news.cache.refresh;
+
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.EvictionListener;
+import ru.clevertec.news.cache.HotKey;
+import ru.clevertec.news.cache.SingleFlight;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local cache with refresh-ahead, values are kept stamped in the underlying cache, whose expiry
+ * is the hard time to live of the entries. Stale values are reloaded, when they are read
+ * by {@link #get(long, SingleFlight.Loader)}, other reads return them as they are.
+ *
+ * @author Yuryeu Andrei
+ * @see Refresher
+ */
+public class RefreshAheadCache implements Cache {
+
+    private final Cache cache;
+    private final Refresher refresher;
+
+    /**
+     * @param cache thread-safe cache, the reloads write it from the threads of the refresher,
+     *              while the request threads read and write it
+     */
+    public RefreshAheadCache(Cache cache, Refresher refresher) {
+        this.cache = cache;
+        this.refresher = refresher;
+    }
+
+    @Override
+    public Object get(long key) {
+        return Refresher.unwrap(cache.get(key));
+    }
+
+    /**
+     * A loaded null value deletes the entry
+     */
+    @Override
+    public Object get(long key, SingleFlight.Loader reloader) {
+        Object stored = cache.get(key);
+        refresher.refreshIfStale(key, stored, reloader, value -> {
+            if (value == null) {
+                cache.delete(key);
+            } else {
+                cache.set(key, refresher.stamp(value));
+            }
+        });
+        return Refresher.unwrap(stored);
+    }
+
+    @Override
+    public List<Object> getAll() {
+        return cache.getAll().stream().map(Refresher::unwrap).toList();
+    }
+
+    @Override
+    public Map<Long, Object> getAll(Collection<Long> keys) {
+        Map<Long, Object> found = cache.getAll(keys);
+        found.replaceAll((key, value) -> Refresher.unwrap(value));
+        return found;
+    }
+
+    @Override
+    public void set(long key, Object value) {
+        refresher.write(key, () -> cache.set(key, refresher.stamp(value)));
+    }
+
+    @Override
+    public void set(long key, Object value, Duration timeToLive) {
+        refresher.write(key, () -> cache.set(key, refresher.stamp(value), timeToLive));
+    }
+
+    @Override
+    public void delete(long key) {
+        refresher.write(key, () -> cache.delete(key));
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public long weight() {
+        return cache.weight();
+    }
+
+    @Override
+    public Map<String, Long> tierHitCounts() {
+        return cache.tierHitCounts();
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener listener) {
+        cache.setEvictionListener(listener == null ? null : new EvictionListener() {
+
+            @Override
+            public void onEviction(long key, Object value) {
+                listener.onEviction(key, Refresher.unwrap(value));
+            }
+
+            @Override
+            public boolean needsValue() {
+                return listener.needsValue();
+            }
+        });
+    }
+
+    @Override
+    public List<HotKey> hotKeys() {
+        return cache.hotKeys();
+    }
+
+    @Override
+    public void restore(long key, Object value, long useCount) {
+        refresher.write(key, () -> cache.restore(key, refresher.stamp(value), useCount));
+    }
+}
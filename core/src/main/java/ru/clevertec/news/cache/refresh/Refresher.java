@@ -0,0 +1,155 @@
+package ru.clevertec.news.cache.refresh;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.news.cache.SingleFlight;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Refresh-ahead of cached entries. Values are stored stamped with their write time, a value older than
+ * the refresh time (soft time to live) is still served, but it is reloaded in the background, only one reload
+ * of a key runs at a time. The expiry of the cache (hard time to live) is not changed, so a request blocks
+ * on the loader only when the entry was not read long enough to expire.
+ * <p>
+ * Writes of the cache must be done by {@link #write(Object, Runnable)}, so a reload, that was started before
+ * the write, never overwrites the written value with the value loaded before it. Writes of a key are serialized
+ * with the reloads of the key by lock stripes, so writes of different keys rarely wait for each other,
+ * reads are not locked, so the cache itself must be thread-safe.
+ *
+ * @author Yuryeu Andrei
+ * @see StampedValue
+ */
+@Slf4j
+public class Refresher {
+
+    private static final Refresher DISABLED = new Refresher(Duration.ZERO, () -> 0, Runnable::run);
+    private static final int STRIPES = 64;
+
+    private final long refreshAfterWriteNanos;
+    private final LongSupplier ticker;
+    private final Executor executor;
+    private final ConcurrentMap<Object, StampedValue> reloads = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    /**
+     * @param refreshAfterWrite time since the write, after which the value is reloaded, zero disables the refresh
+     * @param ticker            source of nanosecond time, it must be shared by the instances,
+     *                          if the stamped values are shared by them
+     * @param executor          runs the reloads
+     */
+    public Refresher(Duration refreshAfterWrite, LongSupplier ticker, Executor executor) {
+        this.refreshAfterWriteNanos = refreshAfterWrite.toNanos();
+        this.ticker = ticker;
+        this.executor = executor;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Refresher, which neither stamps nor reloads values
+     */
+    public static Refresher disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @return value stamped with the current time or the value itself, when the refresh is disabled
+     */
+    public Object stamp(Object value) {
+        return refreshAfterWriteNanos > 0 ? new StampedValue(value, ticker.getAsLong()) : value;
+    }
+
+    /**
+     * @return value of the stored one, values stored without a stamp are returned as they are
+     */
+    public static Object unwrap(Object stored) {
+        return stored instanceof StampedValue stamped ? stamped.value() : stored;
+    }
+
+    /**
+     * Starts the reload of the entry, when its value is stale and it is not being reloaded yet.
+     * Values stored without a stamp are never reloaded
+     *
+     * @param stored value read from the cache
+     * @param loader loads the fresh value
+     * @param writer stores the loaded value, it is not called if the entry was written during the reload
+     */
+    public void refreshIfStale(Object key, Object stored, SingleFlight.Loader loader, Consumer<Object> writer) {
+        if (!(stored instanceof StampedValue stamped) || ticker.getAsLong() - stamped.writeTime() < refreshAfterWriteNanos
+                || reloads.putIfAbsent(key, stamped) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> reload(key, stamped, loader, writer));
+        } catch (RejectedExecutionException ex) {
+            reloads.remove(key, stamped);
+        }
+    }
+
+    /**
+     * Writes the entry, a reload of the entry in progress is discarded
+     */
+    public void write(Object key, Runnable write) {
+        ReentrantLock lock = lockOf(key);
+        lock.lock();
+        try {
+            reloads.remove(key);
+            write.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Clears the cache, all the reloads in progress are discarded, every lock stripe is held meanwhile
+     */
+    public void clear(Runnable clear) {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            reloads.clear();
+            clear.run();
+        } finally {
+            for (int i = STRIPES - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * A failed reload keeps the stale value, it is reloaded again by the next read
+     */
+    private void reload(Object key, StampedValue stale, SingleFlight.Loader loader, Consumer<Object> writer) {
+        Object value;
+        try {
+            value = loader.load();
+        } catch (Throwable ex) {
+            reloads.remove(key, stale);
+            log.warn("Unable to refresh cached entry {}: {}", key, ex.toString());
+            return;
+        }
+        ReentrantLock lock = lockOf(key);
+        lock.lock();
+        try {
+            if (reloads.remove(key, stale)) {
+                writer.accept(value);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockOf(Object key) {
+        int h = key.hashCode();
+        return locks[(h ^ h >>> 16) & (STRIPES - 1)];
+    }
+}
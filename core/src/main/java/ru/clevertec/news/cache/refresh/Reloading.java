@@ -0,0 +1,43 @@
+package ru.clevertec.news.cache.refresh;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Marks the thread, which reloads a stale cached entry. A reload calls the service through its proxy,
+ * so the whole advice chain runs on the thread of the refresher, and the first caching advice reached by the call
+ * consumes the mark and invokes the method without reading the cache, which still holds the stale value.
+ * The nested lookups of the reload are cached as usual.
+ *
+ * @author Yuryeu Andrei
+ * @see Refresher
+ */
+public final class Reloading {
+
+    private static final ThreadLocal<Boolean> RELOADING = new ThreadLocal<>();
+
+    private Reloading() {
+    }
+
+    /**
+     * Runs the reload with the current thread marked, the mark is removed afterwards
+     */
+    public static <T> T run(Callable<T> reload) throws Exception {
+        RELOADING.set(Boolean.TRUE);
+        try {
+            return reload.call();
+        } finally {
+            RELOADING.remove();
+        }
+    }
+
+    /**
+     * @return true, if the current thread is marked, the mark is removed then
+     */
+    public static boolean consume() {
+        if (RELOADING.get() == null) {
+            return false;
+        }
+        RELOADING.remove();
+        return true;
+    }
+}
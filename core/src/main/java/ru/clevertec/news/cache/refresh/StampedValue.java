@@ -0,0 +1,10 @@
+package ru.clevertec.news.cache.refresh;
+
+/**
+ * Cached value with the time it was written, so the {@link Refresher} knows when it must be reloaded
+ *
+ * @param writeTime time of the write in nanoseconds of the ticker of the {@link Refresher}
+ * @author Yuryeu Andrei
+ */
+public record StampedValue(Object value, long writeTime) {
+}
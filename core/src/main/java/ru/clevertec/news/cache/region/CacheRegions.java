@@ -0,0 +1,60 @@
+package ru.clevertec.news.cache.region;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.stats.CacheStatsMetrics;
+import ru.clevertec.news.cache.stats.CacheStatsSource;
+import ru.clevertec.news.cache.stats.MeasuredCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Independent caches of the regions, so entries of different types neither collide by id
+ * nor compete for the same capacity. A region, that was not configured, is created on first use
+ * with the default settings.
+ *
+ * @author Yuryeu Andrei
+ * @see RegionCache
+ */
+public class CacheRegions implements CacheStatsSource {
+
+    private final Function<String, Cache> cacheCreator;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RegionCache> regions = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheCreator  creates the cache of the region by its name
+     * @param meterRegistry registry for the region meters, may be null
+     */
+    public CacheRegions(Function<String, Cache> cacheCreator, MeterRegistry meterRegistry) {
+        this.cacheCreator = cacheCreator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RegionCache region(String name) {
+        return regions.computeIfAbsent(name, this::createRegion);
+    }
+
+    public Map<String, RegionCache> regions() {
+        return Collections.unmodifiableMap(regions);
+    }
+
+    @Override
+    public Collection<? extends MeasuredCache> measuredCaches() {
+        return regions.values();
+    }
+
+    private RegionCache createRegion(String name) {
+        RegionCache region = new RegionCache(name, cacheCreator.apply(name));
+        if (meterRegistry != null) {
+            new CacheStatsMetrics(region, Tags.empty()).bindTo(meterRegistry);
+        }
+        return region;
+    }
+}
@@ -0,0 +1,148 @@
+package ru.clevertec.news.cache.region;
+
+import lombok.Getter;
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.EvictionListener;
+import ru.clevertec.news.cache.HotKey;
+import ru.clevertec.news.cache.SingleFlight;
+import ru.clevertec.news.cache.stats.CacheStats;
+import ru.clevertec.news.cache.stats.MeasuredCache;
+import ru.clevertec.news.cache.stats.StatsCounter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of a single region, counts hits, misses, puts and evictions of the underlying cache
+ * and the time of the loads passed through {@link #timed(SingleFlight.Loader)}
+ *
+ * @author Yuryeu Andrei
+ * @see CacheRegions
+ */
+public class RegionCache implements Cache, MeasuredCache {
+
+    @Getter
+    private final String name;
+    private final Cache cache;
+    private final StatsCounter stats = new StatsCounter();
+    private volatile EvictionListener evictionListener;
+
+    public RegionCache(String name, Cache cache) {
+        this.name = name;
+        this.cache = cache;
+        cache.setEvictionListener(new CountingListener());
+    }
+
+    @Override
+    public Object get(long key) {
+        Object value = cache.get(key);
+        stats.recordGet(value != null);
+        return value;
+    }
+
+    @Override
+    public Object get(long key, SingleFlight.Loader reloader) {
+        Object value = cache.get(key, reloader);
+        stats.recordGet(value != null);
+        return value;
+    }
+
+    @Override
+    public List<Object> getAll() {
+        return cache.getAll();
+    }
+
+    /**
+     * Scans are counted neither as hits nor as misses
+     */
+    @Override
+    public Map<Long, Object> getAll(Collection<Long> keys) {
+        return cache.getAll(keys);
+    }
+
+    @Override
+    public void set(long key, Object value) {
+        cache.set(key, value);
+        stats.recordPut();
+    }
+
+    @Override
+    public void set(long key, Object value, Duration timeToLive) {
+        cache.set(key, value, timeToLive);
+        stats.recordPut();
+    }
+
+    @Override
+    public void delete(long key) {
+        cache.delete(key);
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public long weight() {
+        return cache.weight();
+    }
+
+    /**
+     * The listener is notified after the eviction is counted
+     */
+    @Override
+    public Map<String, Long> tierHitCounts() {
+        return cache.tierHitCounts();
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public List<HotKey> hotKeys() {
+        return cache.hotKeys();
+    }
+
+    @Override
+    public void restore(long key, Object value, long useCount) {
+        cache.restore(key, value, useCount);
+        stats.recordPut();
+    }
+
+    /**
+     * Wraps the loader of a missed value, so its time is recorded
+     */
+    public SingleFlight.Loader timed(SingleFlight.Loader loader) {
+        return stats.timed(loader);
+    }
+
+    @Override
+    public CacheStats stats() {
+        return stats.snapshot(cache.size(), cache.weight(), cache.tierHitCounts());
+    }
+
+    /**
+     * Counts the evictions, the value is needed only by the listener of the region
+     */
+    private class CountingListener implements EvictionListener {
+
+        @Override
+        public void onEviction(long key, Object value) {
+            stats.recordEviction();
+            EvictionListener listener = evictionListener;
+            if (listener != null) {
+                listener.onEviction(key, value);
+            }
+        }
+
+        @Override
+        public boolean needsValue() {
+            EvictionListener listener = evictionListener;
+            return listener != null && listener.needsValue();
+        }
+    }
+}
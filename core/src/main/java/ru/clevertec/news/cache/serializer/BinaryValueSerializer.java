@@ -0,0 +1,368 @@
+package ru.clevertec.news.cache.serializer;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.cache.support.NullValue;
+import ru.clevertec.news.cache.refresh.StampedValue;
+import ru.clevertec.news.dto.CommentDto;
+import ru.clevertec.news.dto.CommentListDto;
+import ru.clevertec.news.dto.NewsDto;
+import ru.clevertec.news.dto.NewsListDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact value serializer with a fixed schema of the cached DTOs. A value is written as a type tag,
+ * a bit mask of its non-null fields and the fields themselves: numbers as variable-length integers,
+ * strings as UTF-8 and dates as epoch seconds with nanos, so no class descriptors or field names are stored.
+ * Lists of the supported values and stamped values are supported too, any other value is written
+ * by the {@link JdkValueSerializer}.
+ * Payloads larger than the compression threshold are compressed with LZ4, when it makes them smaller.
+ * The first byte of a value holds the version of the schema in its high bits and the format in its low bits.
+ * A value written with another schema version is read as null, so it is a cache miss and is loaded again.
+ * The version must be incremented whenever the layout of a written type changes.
+ * Values written by the plain java serialization are still read, so the already cached entries stay readable.
+ *
+ * @author Yuryeu Andrei
+ */
+public class BinaryValueSerializer implements ValueSerializer {
+
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 512;
+
+    private static final int SCHEMA_VERSION = 1;
+    private static final byte RAW = SCHEMA_VERSION << 4 | 1;
+    private static final byte LZ4 = SCHEMA_VERSION << 4 | 2;
+    private static final byte JDK_STREAM_MAGIC = (byte) 0xAC;
+
+    private static final byte NULL = 0;
+    private static final byte NULL_VALUE = 1;
+    private static final byte NEWS = 2;
+    private static final byte NEWS_LIST = 3;
+    private static final byte COMMENT = 4;
+    private static final byte COMMENT_LIST = 5;
+    private static final byte LIST = 6;
+    private static final byte STAMPED = 7;
+    private static final byte JDK = 15;
+
+    private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4_FACTORY.fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4_FACTORY.fastDecompressor();
+    private final JdkValueSerializer jdkSerializer = new JdkValueSerializer();
+
+    public BinaryValueSerializer() {
+        this(DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    /**
+     * @param compressionThreshold size of the payload in bytes, starting from which it is compressed
+     */
+    public BinaryValueSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        Output out = new Output(128);
+        out.writeByte(RAW);
+        writeValue(out, value);
+        int rawLength = out.position - 1;
+        if (rawLength < compressionThreshold) {
+            return out.toByteArray();
+        }
+        int maxLength = compressor.maxCompressedLength(rawLength);
+        Output compressed = new Output(1 + 5 + maxLength);
+        compressed.writeByte(LZ4);
+        compressed.writeVarLong(rawLength);
+        int length = compressor.compress(out.buffer, 1, rawLength, compressed.buffer, compressed.position, maxLength);
+        if (compressed.position + length >= out.position) {
+            return out.toByteArray();
+        }
+        compressed.position += length;
+        return compressed.toByteArray();
+    }
+
+    /**
+     * @return deserialized value or null, if it was written with another schema version
+     */
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes[0] == JDK_STREAM_MAGIC) {
+            return jdkSerializer.deserialize(bytes);
+        }
+        if ((bytes[0] & 0xF0) >>> 4 != SCHEMA_VERSION) {
+            return null;
+        }
+        Input in = new Input(bytes, 1);
+        if (bytes[0] == LZ4) {
+            int rawLength = (int) in.readVarLong();
+            byte[] raw = new byte[rawLength];
+            decompressor.decompress(bytes, in.position, raw, 0, rawLength);
+            in = new Input(raw, 0);
+        } else if (bytes[0] != RAW) {
+            throw new IllegalStateException("Unknown format of cached value " + bytes[0]);
+        }
+        return readValue(in);
+    }
+
+    private void writeValue(Output out, Object value) {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof NullValue) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof NewsDto news) {
+            out.writeByte(NEWS);
+            writeNews(out, news);
+        } else if (value instanceof NewsListDto news) {
+            out.writeByte(NEWS_LIST);
+            writeNewsList(out, news);
+        } else if (value instanceof CommentDto comment) {
+            out.writeByte(COMMENT);
+            writeComment(out, comment);
+        } else if (value instanceof CommentListDto comment) {
+            out.writeByte(COMMENT_LIST);
+            writeCommentList(out, comment);
+        } else if (value instanceof StampedValue stamped) {
+            out.writeByte(STAMPED);
+            out.writeLong(stamped.writeTime());
+            writeValue(out, stamped.value());
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeVarLong(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else {
+            byte[] bytes = jdkSerializer.serialize(value);
+            out.writeByte(JDK);
+            out.writeVarLong(bytes.length);
+            out.writeBytes(bytes);
+        }
+    }
+
+    private Object readValue(Input in) {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case NULL_VALUE -> NullValue.INSTANCE;
+            case NEWS -> readNews(in);
+            case NEWS_LIST -> readNewsList(in);
+            case COMMENT -> readComment(in);
+            case COMMENT_LIST -> readCommentList(in);
+            case STAMPED -> {
+                long writeTime = in.readLong(1, 0);
+                yield new StampedValue(readValue(in), writeTime);
+            }
+            case LIST -> {
+                int size = (int) in.readVarLong();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case JDK -> jdkSerializer.deserialize(in.readBytes((int) in.readVarLong()));
+            default -> throw new IllegalStateException("Unknown type of cached value " + tag);
+        };
+    }
+
+    private static void writeNews(Output out, NewsDto news) {
+        out.writePresence(news.getId(), news.getTitle(), news.getText(), news.getUsername(), news.getCreateDate());
+        out.writeLong(news.getId());
+        out.writeString(news.getTitle());
+        out.writeString(news.getText());
+        out.writeString(news.getUsername());
+        out.writeDateTime(news.getCreateDate());
+    }
+
+    private static NewsDto readNews(Input in) {
+        int presence = in.readByte();
+        return new NewsDto(in.readLong(presence, 0), in.readString(presence, 1), in.readString(presence, 2),
+                in.readString(presence, 3), in.readDateTime(presence, 4));
+    }
+
+    private static void writeNewsList(Output out, NewsListDto news) {
+        out.writePresence(news.getId(), news.getTitle(), news.getUsername(), news.getCreateDate());
+        out.writeLong(news.getId());
+        out.writeString(news.getTitle());
+        out.writeString(news.getUsername());
+        out.writeDateTime(news.getCreateDate());
+    }
+
+    private static NewsListDto readNewsList(Input in) {
+        int presence = in.readByte();
+        return new NewsListDto(in.readLong(presence, 0), in.readString(presence, 1),
+                in.readString(presence, 2), in.readDateTime(presence, 3));
+    }
+
+    private static void writeComment(Output out, CommentDto comment) {
+        out.writePresence(comment.getId(), comment.getText(), comment.getUsername(), comment.getCreateDate(),
+                comment.getNews());
+        out.writeLong(comment.getId());
+        out.writeString(comment.getText());
+        out.writeString(comment.getUsername());
+        out.writeDateTime(comment.getCreateDate());
+        if (comment.getNews() != null) {
+            writeNewsList(out, comment.getNews());
+        }
+    }
+
+    private static CommentDto readComment(Input in) {
+        int presence = in.readByte();
+        return new CommentDto(in.readLong(presence, 0), in.readString(presence, 1), in.readString(presence, 2),
+                in.readDateTime(presence, 3), (presence & 1 << 4) != 0 ? readNewsList(in) : null);
+    }
+
+    private static void writeCommentList(Output out, CommentListDto comment) {
+        out.writePresence(comment.getId(), comment.getText(), comment.getUsername(), comment.getCreateDate());
+        out.writeLong(comment.getId());
+        out.writeString(comment.getText());
+        out.writeString(comment.getUsername());
+        out.writeDateTime(comment.getCreateDate());
+    }
+
+    private static CommentListDto readCommentList(Input in) {
+        int presence = in.readByte();
+        return new CommentListDto(in.readLong(presence, 0), in.readString(presence, 1),
+                in.readString(presence, 2), in.readDateTime(presence, 3));
+    }
+
+    /**
+     * Growable buffer, null fields are skipped by the writers, their absence is recorded by the presence mask
+     */
+    private static final class Output {
+
+        private byte[] buffer;
+        private int position;
+
+        private Output(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        private void writePresence(Object... fields) {
+            int presence = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] != null) {
+                    presence |= 1 << i;
+                }
+            }
+            writeByte((byte) presence);
+        }
+
+        private void writeByte(byte value) {
+            ensure(1);
+            buffer[position++] = value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeLong(Long value) {
+            if (value != null) {
+                writeVarLong(value << 1 ^ value >> 63);
+            }
+        }
+
+        private void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeString(String value) {
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length);
+                writeBytes(bytes);
+            }
+        }
+
+        private void writeDateTime(LocalDateTime value) {
+            if (value != null) {
+                writeLong(value.toEpochSecond(ZoneOffset.UTC));
+                writeVarLong(value.getNano());
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Input(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        private byte readByte() {
+            return buffer[position++];
+        }
+
+        private byte[] readBytes(int length) {
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        private Long readLong(int presence, int field) {
+            if ((presence & 1 << field) == 0) {
+                return null;
+            }
+            long value = readVarLong();
+            return value >>> 1 ^ -(value & 1);
+        }
+
+        private String readString(int presence, int field) {
+            if ((presence & 1 << field) == 0) {
+                return null;
+            }
+            int length = (int) readVarLong();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private LocalDateTime readDateTime(int presence, int field) {
+            if ((presence & 1 << field) == 0) {
+                return null;
+            }
+            long seconds = readLong(1, 0);
+            return LocalDateTime.ofEpochSecond(seconds, (int) readVarLong(), ZoneOffset.UTC);
+        }
+    }
+}
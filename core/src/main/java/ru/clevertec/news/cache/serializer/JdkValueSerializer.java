@@ -0,0 +1,35 @@
+package ru.clevertec.news.cache.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Value serializer based on the standard java serialization, values must implement Serializable
+ *
+ * @author Yuryeu Andrei
+ */
+public class JdkValueSerializer implements ValueSerializer {
+
+    @Override
+    public byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Unable to serialize " + value.getClass().getName(), ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new IllegalStateException("Unable to deserialize cached value", ex);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.clevertec.news.cache.serializer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Adapts a {@link ValueSerializer} to the values of Redis caches
+ *
+ * @author Yuryeu Andrei
+ */
+@RequiredArgsConstructor
+public class ValueRedisSerializer implements RedisSerializer<Object> {
+
+    private final ValueSerializer serializer;
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return serializer.serialize(value);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Unable to serialize " + value.getClass().getName(), ex);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return serializer.deserialize(bytes);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Unable to deserialize cached value", ex);
+        }
+    }
+}
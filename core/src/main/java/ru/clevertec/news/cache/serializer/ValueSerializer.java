@@ -0,0 +1,19 @@
+package ru.clevertec.news.cache.serializer;
+
+/**
+ * Converts cached values to bytes and back for the caches, storing values outside the java heap
+ *
+ * @author Yuryeu Andrei
+ */
+public interface ValueSerializer {
+
+    /**
+     * @throws IllegalArgumentException in case the value can not be serialized
+     */
+    byte[] serialize(Object value);
+
+    /**
+     * @return deserialized value or null, if the bytes were written in an outdated format and are a cache miss
+     */
+    Object deserialize(byte[] bytes);
+}
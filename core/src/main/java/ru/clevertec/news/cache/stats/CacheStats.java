@@ -0,0 +1,38 @@
+package ru.clevertec.news.cache.stats;
+
+import java.util.Map;
+
+/**
+ * Statistics of a cache at a point in time
+ *
+ * @param evictionCount     entries dropped to free capacity, expired and deleted entries are not counted
+ * @param totalLoadTimeNanos time spent loading the missed values, both successful and failed loads are counted
+ * @param weight            estimated weight of the entries, 0 for a cache without a weight limit
+ * @param tierHitCounts     hits of every tier by its name, empty for a single-tier cache
+ * @author Yuryeu Andrei
+ */
+public record CacheStats(long hitCount,
+                         long missCount,
+                         long putCount,
+                         long evictionCount,
+                         long loadSuccessCount,
+                         long loadFailureCount,
+                         long totalLoadTimeNanos,
+                         long size,
+                         long weight,
+                         Map<String, Long> tierHitCounts) {
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public double averageLoadPenaltyNanos() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTimeNanos / loads;
+    }
+}
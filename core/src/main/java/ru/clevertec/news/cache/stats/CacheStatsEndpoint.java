@@ -0,0 +1,42 @@
+package ru.clevertec.news.cache.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint <b>/actuator/cachestats</b> with the statistics of every cache of the application
+ * by its name, <b>/actuator/cachestats/{name}</b> returns the statistics of a single cache
+ *
+ * @author Yuryeu Andrei
+ */
+@Component
+@Endpoint(id = "cachestats")
+@RequiredArgsConstructor
+public class CacheStatsEndpoint {
+
+    private final ObjectProvider<CacheStatsSource> sources;
+
+    @ReadOperation
+    public Map<String, CacheStats> caches() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        sources.orderedStream()
+                .flatMap(source -> source.measuredCaches().stream())
+                .forEach(cache -> stats.put(cache.getName(), cache.stats()));
+        return stats;
+    }
+
+    /**
+     * @return null, so the endpoint responds with 404, in case there is no cache with the name
+     */
+    @ReadOperation
+    public CacheStats cache(@Selector String name) {
+        return caches().get(name);
+    }
+}
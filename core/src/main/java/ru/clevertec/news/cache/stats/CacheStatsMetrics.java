@@ -0,0 +1,102 @@
+package ru.clevertec.news.cache.stats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the standard <b>cache.gets</b>, <b>cache.puts</b>, <b>cache.evictions</b> and <b>cache.size</b> meters
+ * of a cache tagged with its name, as well as <b>cache.load</b> tagged with the result,
+ * <b>cache.load.duration</b> and <b>cache.weight</b>. Hits of every tier of a multi-tier cache are published
+ * as <b>cache.tier.gets</b> tagged with the tier
+ *
+ * @author Yuryeu Andrei
+ */
+public class CacheStatsMetrics extends CacheMeterBinder<MeasuredCache> {
+
+    public CacheStatsMetrics(MeasuredCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        MeasuredCache cache = getCache();
+        return cache == null ? null : cache.stats().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return stat(CacheStats::hitCount);
+    }
+
+    @Override
+    protected Long missCount() {
+        MeasuredCache cache = getCache();
+        return cache == null ? null : cache.stats().missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        MeasuredCache cache = getCache();
+        return cache == null ? null : cache.stats().evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return stat(CacheStats::putCount);
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        MeasuredCache cache = getCache();
+        FunctionCounter.builder("cache.load", cache, measured(CacheStats::loadSuccessCount))
+                .tags(getTagsWithCacheName())
+                .tag("result", "success")
+                .description("The number of times cache lookup methods have successfully loaded a new value")
+                .register(registry);
+        FunctionCounter.builder("cache.load", cache, measured(CacheStats::loadFailureCount))
+                .tags(getTagsWithCacheName())
+                .tag("result", "failure")
+                .description("The number of times cache lookup methods failed to load a new value")
+                .register(registry);
+        FunctionTimer.builder("cache.load.duration", cache,
+                        measured -> {
+                            CacheStats stats = measured.stats();
+                            return stats.loadSuccessCount() + stats.loadFailureCount();
+                        },
+                        measured(CacheStats::totalLoadTimeNanos), TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName())
+                .description("The time the cache has spent loading new values")
+                .register(registry);
+        Gauge.builder("cache.weight", cache, measured(CacheStats::weight))
+                .tags(getTagsWithCacheName())
+                .baseUnit(BaseUnits.BYTES)
+                .description("The estimated weight of the entries in the cache")
+                .register(registry);
+        for (String tier : cache.stats().tierHitCounts().keySet()) {
+            FunctionCounter.builder("cache.tier.gets", cache,
+                            measured -> measured.stats().tierHitCounts().getOrDefault(tier, 0L))
+                    .tags(getTagsWithCacheName())
+                    .tag("tier", tier)
+                    .description("The number of times cache lookup methods have returned a value cached in the tier")
+                    .register(registry);
+        }
+    }
+
+    private long stat(ToLongFunction<CacheStats> stat) {
+        MeasuredCache cache = getCache();
+        return cache == null ? 0 : stat.applyAsLong(cache.stats());
+    }
+
+    private static ToDoubleFunction<MeasuredCache> measured(ToLongFunction<CacheStats> stat) {
+        return cache -> stat.applyAsLong(cache.stats());
+    }
+}
@@ -0,0 +1,13 @@
+package ru.clevertec.news.cache.stats;
+
+import java.util.Collection;
+
+/**
+ * Owner of measured caches, e.g. a cache manager, its caches are listed by the {@link CacheStatsEndpoint}
+ *
+ * @author Yuryeu Andrei
+ */
+public interface CacheStatsSource {
+
+    Collection<? extends MeasuredCache> measuredCaches();
+}
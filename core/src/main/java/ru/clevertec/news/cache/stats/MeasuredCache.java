@@ -0,0 +1,13 @@
+package ru.clevertec.news.cache.stats;
+
+/**
+ * Cache, that records its {@link CacheStats}
+ *
+ * @author Yuryeu Andrei
+ */
+public interface MeasuredCache {
+
+    String getName();
+
+    CacheStats stats();
+}
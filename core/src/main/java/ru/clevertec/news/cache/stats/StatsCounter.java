@@ -0,0 +1,103 @@
+package ru.clevertec.news.cache.stats;
+
+import ru.clevertec.news.cache.SingleFlight;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters of a cache, every counter is striped by {@link LongAdder}, so request threads recording a hit
+ * do not contend on a single memory location
+ *
+ * @author Yuryeu Andrei
+ */
+public class StatsCounter {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongSupplier ticker;
+
+    public StatsCounter() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param ticker source of nanoseconds to measure the load time
+     */
+    public StatsCounter(LongSupplier ticker) {
+        this.ticker = ticker;
+    }
+
+    public void recordGet(boolean hit) {
+        (hit ? hits : misses).increment();
+    }
+
+    public void recordPut() {
+        puts.increment();
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    /**
+     * Wraps the loader, so the time of every its call is recorded as a successful or a failed load
+     */
+    public SingleFlight.Loader timed(SingleFlight.Loader loader) {
+        return () -> {
+            long start = ticker.getAsLong();
+            boolean loaded = false;
+            try {
+                Object value = loader.load();
+                loaded = true;
+                return value;
+            } finally {
+                recordLoad(start, loaded);
+            }
+        };
+    }
+
+    /**
+     * Same as {@link #timed(SingleFlight.Loader)} for the value loaders of Spring caches
+     */
+    public <T> Callable<T> timed(Callable<T> loader) {
+        return () -> {
+            long start = ticker.getAsLong();
+            boolean loaded = false;
+            try {
+                T value = loader.call();
+                loaded = true;
+                return value;
+            } finally {
+                recordLoad(start, loaded);
+            }
+        };
+    }
+
+    private void recordLoad(long start, boolean loaded) {
+        totalLoadTime.add(ticker.getAsLong() - start);
+        (loaded ? loadSuccesses : loadFailures).increment();
+    }
+
+    /**
+     * Counters are summed one by one, so a snapshot taken under load is not atomic, every counter is exact though
+     */
+    public CacheStats snapshot(long size, long weight) {
+        return snapshot(size, weight, Map.of());
+    }
+
+    /**
+     * @param tierHitCounts hits of every tier of a multi-tier cache, they are counted by the cache itself
+     */
+    public CacheStats snapshot(long size, long weight, Map<String, Long> tierHitCounts) {
+        return new CacheStats(hits.sum(), misses.sum(), puts.sum(), evictions.sum(), loadSuccesses.sum(),
+                loadFailures.sum(), totalLoadTime.sum(), size, weight, tierHitCounts);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.clevertec.news.cache.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static ru.clevertec.news.cache.trace.RingFileTraceRecorder.HEADER_BYTES;
+import static ru.clevertec.news.cache.trace.RingFileTraceRecorder.KEY_BITS;
+import static ru.clevertec.news.cache.trace.RingFileTraceRecorder.KEY_MASK;
+import static ru.clevertec.news.cache.trace.RingFileTraceRecorder.MAGIC;
+import static ru.clevertec.news.cache.trace.RingFileTraceRecorder.NAMES_OFFSET;
+import static ru.clevertec.news.cache.trace.RingFileTraceRecorder.NAME_BYTES;
+import static ru.clevertec.news.cache.trace.RingFileTraceRecorder.POSITION_OFFSET;
+
+/**
+ * Keys of a trace written by the {@link RingFileTraceRecorder} by region, from the oldest to the latest access
+ *
+ * @author Yuryeu Andrei
+ */
+public record AccessTrace(Map<String, long[]> keys) {
+
+    public static AccessTrace read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Unknown trace format: " + file);
+            }
+            int capacity = buffer.getInt(4);
+            String[] regions = new String[buffer.getInt(8)];
+            for (int i = 0; i < regions.length; i++) {
+                ByteBuffer slot = buffer.slice(NAMES_OFFSET + i * NAME_BYTES, NAME_BYTES);
+                byte[] name = new byte[slot.getShort()];
+                slot.get(name);
+                regions[i] = new String(name, StandardCharsets.UTF_8);
+            }
+            long position = buffer.getLong(POSITION_OFFSET);
+            int count = (int) Math.min(position, capacity);
+            long first = position - count;
+            int[] sizes = new int[regions.length];
+            for (long sequence = first; sequence < position; sequence++) {
+                sizes[(int) (recordAt(buffer, sequence, capacity) >>> KEY_BITS)]++;
+            }
+            long[][] keys = new long[regions.length][];
+            for (int i = 0; i < regions.length; i++) {
+                keys[i] = new long[sizes[i]];
+            }
+            Arrays.fill(sizes, 0);
+            for (long sequence = first; sequence < position; sequence++) {
+                long record = recordAt(buffer, sequence, capacity);
+                int region = (int) (record >>> KEY_BITS);
+                keys[region][sizes[region]++] = record & KEY_MASK;
+            }
+            Map<String, long[]> byRegion = new LinkedHashMap<>();
+            for (int i = 0; i < regions.length; i++) {
+                byRegion.put(regions[i], keys[i]);
+            }
+            return new AccessTrace(byRegion);
+        }
+    }
+
+    private static long recordAt(ByteBuffer buffer, long sequence, int capacity) {
+        return buffer.getLong(HEADER_BYTES + (int) (sequence % capacity) * Long.BYTES);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.clevertec.news.cache.trace;
+
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.factory.CacheFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays the keys of an {@link AccessTrace} against every cache algorithm of the {@link CacheFactory}
+ * at several sizes, a missed key is put into the cache like the caching aspect does. Run it by
+ * <b>gradle :core:simulateCache -Ptrace=&lt;trace file&gt; -Psizes=&lt;size,size...&gt;</b>
+ *
+ * @author Yuryeu Andrei
+ */
+public class CacheSimulator {
+
+    private static final int[] DEFAULT_SIZES = {256, 1024, 4096, 16384};
+    private static final Object VALUE = new Object();
+
+    private final CacheFactory cacheFactory;
+
+    public CacheSimulator(CacheFactory cacheFactory) {
+        this.cacheFactory = cacheFactory;
+    }
+
+    /**
+     * @param opsPerSecond replayed reads per second of a single thread, including the puts of the missed keys
+     */
+    public record Result(String algorithm, int size, long requests, long hits, double opsPerSecond) {
+
+        public double hitRatio() {
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    public Result simulate(long[] keys, String algorithm, int size) {
+        Cache cache = cacheFactory.createCache(algorithm, size);
+        long hits = 0;
+        long start = System.nanoTime();
+        for (long key : keys) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.set(key, VALUE);
+            }
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        return new Result(algorithm, size, keys.length, hits, keys.length * 1e9 / elapsed);
+    }
+
+    public List<Result> simulate(long[] keys, int... sizes) {
+        List<Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            for (String algorithm : CacheFactory.ALGORITHMS) {
+                results.add(simulate(keys, algorithm, size));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @param args trace file followed by the cache sizes
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: CacheSimulator <trace file> [size...]");
+            System.exit(1);
+        }
+        AccessTrace trace = AccessTrace.read(Path.of(args[0]));
+        int[] sizes = args.length > 1
+                ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : DEFAULT_SIZES;
+        new CacheSimulator(new CacheFactory()).print(trace, sizes, System.out);
+    }
+
+    public void print(AccessTrace trace, int[] sizes, PrintStream out) {
+        out.printf("%-16s %-16s %10s %12s %10s %14s%n", "region", "algorithm", "size", "requests", "hit ratio", "ops/s");
+        for (Map.Entry<String, long[]> region : trace.keys().entrySet()) {
+            for (Result result : simulate(region.getValue(), sizes)) {
+                out.printf("%-16s %-16s %10d %12d %9.2f%% %14.0f%n", region.getKey(), result.algorithm(),
+                        result.size(), result.requests(), result.hitRatio() * 100, result.opsPerSecond());
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ru.clevertec.news.cache.trace;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trace recorder keeping the last accesses in a memory-mapped ring file of a fixed size, so recording costs
+ * a single memory write and a long-running instance never fills the disk. The file starts with a header:
+ * <b>magic, capacity, region count, position, {name length, name}...</b> followed by the ring of records,
+ * every record is a long holding the region index in the highest byte and the key in the rest.
+ * The position, the number of accesses recorded since the start, is written to the header every
+ * {@link #POSITION_INTERVAL} records and on close, so a copy of the file taken from a running instance
+ * may miss the last records.
+ *
+ * @author Yuryeu Andrei
+ * @see AccessTrace
+ */
+public class RingFileTraceRecorder implements TraceRecorder {
+
+    static final int MAGIC = 0x43545231;
+    static final int MAX_REGIONS = 16;
+    static final int NAME_BYTES = 64;
+    static final int POSITION_OFFSET = 12;
+    static final int NAMES_OFFSET = 20;
+    static final int HEADER_BYTES = NAMES_OFFSET + MAX_REGIONS * NAME_BYTES;
+    static final int KEY_BITS = 56;
+    static final long KEY_MASK = (1L << KEY_BITS) - 1;
+    private static final int POSITION_INTERVAL = 1024;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicLong position = new AtomicLong();
+    private final Map<String, Integer> regionIndexes = new ConcurrentHashMap<>();
+    private int regionCount;
+
+    /**
+     * Creates the file anew, the trace of the previous run is overwritten
+     *
+     * @param capacity number of the last accesses kept in the file
+     */
+    public RingFileTraceRecorder(Path file, int capacity) throws IOException {
+        if (capacity <= 0 || capacity > (Integer.MAX_VALUE - HEADER_BYTES) / Long.BYTES) {
+            throw new IllegalArgumentException("Trace capacity must be positive: " + capacity);
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.capacity = capacity;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * Long.BYTES);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, capacity);
+    }
+
+    /**
+     * Records are written to distinct slots by absolute puts, so concurrent threads do not need a lock.
+     * Accesses of the regions beyond {@link #MAX_REGIONS} are not recorded
+     */
+    @Override
+    public void record(String region, long key) {
+        Integer index = regionIndexes.get(region);
+        if (index == null) {
+            index = register(region);
+        }
+        if (index < 0) {
+            return;
+        }
+        long sequence = position.getAndIncrement();
+        buffer.putLong(HEADER_BYTES + (int) (sequence % capacity) * Long.BYTES, (long) index << KEY_BITS | key & KEY_MASK);
+        if ((sequence + 1) % POSITION_INTERVAL == 0) {
+            writePosition();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        writePosition();
+        buffer.force();
+        channel.close();
+    }
+
+    private synchronized int register(String region) {
+        Integer index = regionIndexes.get(region);
+        if (index != null) {
+            return index;
+        }
+        byte[] name = region.getBytes(StandardCharsets.UTF_8);
+        index = regionCount < MAX_REGIONS && name.length <= NAME_BYTES - Short.BYTES ? regionCount++ : -1;
+        if (index >= 0) {
+            ByteBuffer slot = buffer.slice(NAMES_OFFSET + index * NAME_BYTES, NAME_BYTES);
+            slot.putShort((short) name.length).put(name);
+            buffer.putInt(8, regionCount);
+        }
+        regionIndexes.put(region, index);
+        return index;
+    }
+
+    private synchronized void writePosition() {
+        buffer.putLong(POSITION_OFFSET, Math.max(buffer.getLong(POSITION_OFFSET), position.get()));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.clevertec.news.cache.trace;
+
+/**
+ * Recorder of the keys read from the cache regions, the recorded trace is replayed by the {@link CacheSimulator}
+ *
+ * @author Yuryeu Andrei
+ * @see RingFileTraceRecorder
+ */
+public interface TraceRecorder {
+
+    TraceRecorder NONE = (region, key) -> {
+    };
+
+    void record(String region, long key);
+}
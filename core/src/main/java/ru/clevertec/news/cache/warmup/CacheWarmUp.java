@@ -0,0 +1,148 @@
+package ru.clevertec.news.cache.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.clevertec.news.cache.HotKey;
+import ru.clevertec.news.entity.Comment;
+import ru.clevertec.news.entity.News;
+import ru.clevertec.news.mapper.CommentMapper;
+import ru.clevertec.news.mapper.NewsMapper;
+import ru.clevertec.news.repository.CommentRepository;
+import ru.clevertec.news.repository.NewsRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Fills the caches of News and Comments on startup, so the first requests after a restart are not served
+ * by a cold cache. The ids, that were hot before the restart, are loaded first, then the most recent entities,
+ * every batch is loaded by a single query. Loaded entities are put into the cache from the coldest
+ * to the hottest one with their former use counts, so the eviction order is restored.
+ * Warm-up stops, when the configured number of entities is loaded or the time budget runs out.
+ * It runs inside the {@link ApplicationReadyEvent} listener, so the application reports readiness
+ * only after the warm-up is finished.
+ *
+ * @author Yuryeu Andrei
+ * @see WarmUpProperties
+ */
+@Slf4j
+public class CacheWarmUp {
+
+    private static final Sort MOST_RECENT = Sort.by(Sort.Direction.DESC, "createDate", "id");
+
+    private final NewsRepository newsRepository;
+    private final CommentRepository commentRepository;
+    private final NewsMapper newsMapper;
+    private final CommentMapper commentMapper;
+    private final WarmUpProperties properties;
+    private final HotKeys hotKeys;
+    private final LongSupplier ticker;
+    private WarmUpTarget newsTarget;
+    private WarmUpTarget commentsTarget;
+
+    public CacheWarmUp(NewsRepository newsRepository, CommentRepository commentRepository, NewsMapper newsMapper,
+                       CommentMapper commentMapper, WarmUpProperties properties, HotKeys hotKeys, LongSupplier ticker) {
+        this.newsRepository = newsRepository;
+        this.commentRepository = commentRepository;
+        this.newsMapper = newsMapper;
+        this.commentMapper = commentMapper;
+        this.properties = properties;
+        this.hotKeys = hotKeys;
+        this.ticker = ticker;
+    }
+
+    /**
+     * @param target cache of News, News are not loaded in case of null
+     */
+    public CacheWarmUp news(WarmUpTarget target) {
+        this.newsTarget = target;
+        return this;
+    }
+
+    /**
+     * @param target cache of Comments, Comments are not loaded in case of null
+     */
+    public CacheWarmUp comments(WarmUpTarget target) {
+        this.commentsTarget = target;
+        return this;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * @return number of the loaded entities
+     */
+    public int warmUp() {
+        long start = ticker.getAsLong();
+        long deadline = start + properties.getTimeBudget().toNanos();
+        int loaded = 0;
+        if (newsTarget != null) {
+            loaded += warmUp("news", newsTarget, newsRepository::findAllById,
+                    pageable -> newsRepository.findAll(pageable).getContent(),
+                    News::getId, newsMapper::toDto, deadline);
+        }
+        if (commentsTarget != null) {
+            loaded += warmUp("comments", commentsTarget, commentRepository::findAllByIdIn,
+                    commentRepository::findAllWithNews,
+                    Comment::getId, commentMapper::toDto, deadline);
+        }
+        log.info("Cache warm-up loaded {} entities in {} ms", loaded, (ticker.getAsLong() - start) / 1_000_000);
+        return loaded;
+    }
+
+    private <E> int warmUp(String region, WarmUpTarget target, Function<List<Long>, List<E>> findByIds,
+                           Function<Pageable, List<E>> findRecent, Function<E, Long> idOf, Function<E, ?> toDto,
+                           long deadline) {
+        int size = properties.getSize();
+        int batchSize = properties.getBatchSize();
+        Map<Long, Entry> loaded = new LinkedHashMap<>();
+        List<HotKey> hot = hotKeys.keys(region);
+        hot = hot.subList(0, Math.min(size, hot.size()));
+        for (int from = 0; from < hot.size() && ticker.getAsLong() < deadline; from += batchSize) {
+            List<HotKey> batch = hot.subList(from, Math.min(from + batchSize, hot.size()));
+            Map<Long, E> found = findByIds.apply(batch.stream().map(HotKey::key).toList()).stream()
+                    .collect(Collectors.toMap(idOf, Function.identity()));
+            for (HotKey hotKey : batch) {
+                E entity = found.get(hotKey.key());
+                if (entity != null) {
+                    loaded.put(hotKey.key(), new Entry(hotKey.key(), toDto.apply(entity), hotKey.useCount()));
+                }
+            }
+        }
+        for (int page = 0; loaded.size() < size && ticker.getAsLong() < deadline; page++) {
+            List<E> entities = findRecent.apply(PageRequest.of(page, batchSize, MOST_RECENT));
+            for (E entity : entities) {
+                Long id = idOf.apply(entity);
+                if (loaded.size() < size && !loaded.containsKey(id)) {
+                    loaded.put(id, new Entry(id, toDto.apply(entity), 0));
+                }
+            }
+            if (entities.size() < batchSize) {
+                break;
+            }
+        }
+        List<Entry> entries = new ArrayList<>(loaded.values());
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Entry entry = entries.get(i);
+            target.restore(entry.id(), entry.value(), entry.useCount());
+        }
+        return entries.size();
+    }
+
+    private record Entry(long id, Object value, long useCount) {
+    }
+}
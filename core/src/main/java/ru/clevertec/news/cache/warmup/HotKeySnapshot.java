@@ -0,0 +1,136 @@
+package ru.clevertec.news.cache.warmup;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.cache.HotKey;
+import ru.clevertec.news.cache.region.CacheRegions;
+import ru.clevertec.news.cache.region.RegionCache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the hot keys of the cache regions with their use counts, so an instance restarts with the working set
+ * it had before. The snapshot is read on creation and serves the keys to the {@link CacheWarmUp}, it is written
+ * periodically and on shutdown. The file holds the regions with their keys from the hottest to the coldest one:
+ * <b>magic, region count, {name, key count, {key, use count}...}...</b>, it is replaced atomically.
+ * The keys are read by the snapshot thread, while the request threads use the regions, so the region caches
+ * must be thread-safe, {@link Cache#hotKeys()} takes the lock of the cache and does not change it.
+ *
+ * @author Yuryeu Andrei
+ */
+@Slf4j
+public class HotKeySnapshot implements HotKeys {
+
+    private static final int MAGIC = 0x484B5331;
+
+    private final Path file;
+    private final CacheRegions regions;
+    private final Map<String, List<HotKey>> restored;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param interval period of writing, the first snapshot is written after it too, so the warm-up is finished by then
+     */
+    public HotKeySnapshot(Path file, CacheRegions regions, Duration interval) {
+        this.file = file;
+        this.regions = regions;
+        this.restored = read(file);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-key-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::writeQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<HotKey> keys(String region) {
+        return restored.getOrDefault(region, List.of());
+    }
+
+    /**
+     * Writes the current hot keys of all the regions
+     */
+    public void write() throws IOException {
+        Map<String, RegionCache> snapshot = regions.regions();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, RegionCache> region : snapshot.entrySet()) {
+                List<HotKey> hotKeys = region.getValue().hotKeys();
+                out.writeUTF(region.getKey());
+                out.writeInt(hotKeys.size());
+                for (HotKey hotKey : hotKeys) {
+                    out.writeLong(hotKey.key());
+                    out.writeLong(hotKey.useCount());
+                }
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        writeQuietly();
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Unable to write hot key snapshot {}", file, ex);
+        }
+    }
+
+    /**
+     * Missing or unreadable snapshot is treated as empty, so it never prevents the startup
+     */
+    private static Map<String, List<HotKey>> read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Map.of();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unknown snapshot format");
+            }
+            int regionCount = in.readInt();
+            Map<String, List<HotKey>> hotKeys = new HashMap<>();
+            for (int i = 0; i < regionCount; i++) {
+                String region = in.readUTF();
+                int keyCount = in.readInt();
+                List<HotKey> keys = new ArrayList<>(keyCount);
+                for (int j = 0; j < keyCount; j++) {
+                    keys.add(new HotKey(in.readLong(), in.readLong()));
+                }
+                hotKeys.put(region, keys);
+            }
+            return hotKeys;
+        } catch (IOException ex) {
+            log.warn("Unable to read hot key snapshot {}", file, ex);
+            return Map.of();
+        }
+    }
+}
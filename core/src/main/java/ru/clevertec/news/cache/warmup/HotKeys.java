@@ -0,0 +1,21 @@
+package ru.clevertec.news.cache.warmup;
+
+import ru.clevertec.news.cache.HotKey;
+
+import java.util.List;
+
+/**
+ * Source of the keys, that were hot before the restart, they are loaded first by the {@link CacheWarmUp}
+ *
+ * @author Yuryeu Andrei
+ */
+@FunctionalInterface
+public interface HotKeys {
+
+    HotKeys NONE = region -> List.of();
+
+    /**
+     * @return keys of the region from the hottest to the coldest one
+     */
+    List<HotKey> keys(String region);
+}
@@ -0,0 +1,21 @@
+package ru.clevertec.news.cache.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Properties of the cache warm-up
+ *
+ * @author Yuryeu Andrei
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.warm-up")
+public class WarmUpProperties {
+
+    private boolean enabled = true;
+    private int size = 500;
+    private int batchSize = 100;
+    private Duration timeBudget = Duration.ofSeconds(10);
+}
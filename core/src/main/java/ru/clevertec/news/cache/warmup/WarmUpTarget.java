@@ -0,0 +1,39 @@
+package ru.clevertec.news.cache.warmup;
+
+import ru.clevertec.news.cache.Cache;
+
+/**
+ * Cache, which is filled by the {@link CacheWarmUp}
+ *
+ * @author Yuryeu Andrei
+ */
+@FunctionalInterface
+public interface WarmUpTarget {
+
+    void put(long id, Object value);
+
+    /**
+     * Stores the value with the use count it had before the restart, values are restored
+     * from the coldest to the hottest one
+     */
+    default void restore(long id, Object value, long useCount) {
+        put(id, value);
+    }
+
+    /**
+     * @return target restoring the eviction order of the cache
+     */
+    static WarmUpTarget of(Cache cache) {
+        return new WarmUpTarget() {
+            @Override
+            public void put(long id, Object value) {
+                cache.set(id, value);
+            }
+
+            @Override
+            public void restore(long id, Object value, long useCount) {
+                cache.restore(id, value, useCount);
+            }
+        };
+    }
+}
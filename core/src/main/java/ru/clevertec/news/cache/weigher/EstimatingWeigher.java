@@ -0,0 +1,72 @@
+package ru.clevertec.news.cache.weigher;
+
+import ru.clevertec.news.cache.Weigher;
+import ru.clevertec.news.cache.page.CachedPage;
+import ru.clevertec.news.cache.refresh.StampedValue;
+import ru.clevertec.news.dto.CommentDto;
+import ru.clevertec.news.dto.CommentListDto;
+import ru.clevertec.news.dto.NewsDto;
+import ru.clevertec.news.dto.NewsListDto;
+
+import java.util.Collection;
+
+/**
+ * Weigher estimating the heap bytes retained by the cached DTOs: object headers and references
+ * plus the contents of their strings, which make up most of the size. Strings are counted as two bytes
+ * per char, because the content may be non-latin. Unknown values get a fixed weight.
+ *
+ * @author Yuryeu Andrei
+ */
+public class EstimatingWeigher implements Weigher {
+
+    private static final int OBJECT_BYTES = 16;
+    private static final int REFERENCE_BYTES = 8;
+    private static final int STRING_BYTES = 40;
+    private static final int DATE_TIME_BYTES = 72;
+    private static final int UNKNOWN_BYTES = 256;
+
+    @Override
+    public int weigh(Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, estimate(value));
+    }
+
+    private long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return STRING_BYTES + 2L * string.length();
+        }
+        if (value instanceof NewsDto news) {
+            return OBJECT_BYTES + 5 * REFERENCE_BYTES + OBJECT_BYTES + DATE_TIME_BYTES
+                    + estimate(news.getTitle()) + estimate(news.getText()) + estimate(news.getUsername());
+        }
+        if (value instanceof NewsListDto news) {
+            return OBJECT_BYTES + 4 * REFERENCE_BYTES + OBJECT_BYTES + DATE_TIME_BYTES
+                    + estimate(news.getTitle()) + estimate(news.getUsername());
+        }
+        if (value instanceof CommentDto comment) {
+            return OBJECT_BYTES + 5 * REFERENCE_BYTES + OBJECT_BYTES + DATE_TIME_BYTES
+                    + estimate(comment.getText()) + estimate(comment.getUsername()) + estimate(comment.getNews());
+        }
+        if (value instanceof CommentListDto comment) {
+            return OBJECT_BYTES + 4 * REFERENCE_BYTES + OBJECT_BYTES + DATE_TIME_BYTES
+                    + estimate(comment.getText()) + estimate(comment.getUsername());
+        }
+        if (value instanceof CachedPage page) {
+            return OBJECT_BYTES + 4 * REFERENCE_BYTES + UNKNOWN_BYTES + OBJECT_BYTES + 8L * page.ids().length
+                    + estimate(page.content());
+        }
+        if (value instanceof StampedValue stamped) {
+            return OBJECT_BYTES + REFERENCE_BYTES + Long.BYTES + estimate(stamped.value());
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = OBJECT_BYTES + (long) REFERENCE_BYTES * collection.size();
+            for (Object element : collection) {
+                bytes += estimate(element);
+            }
+            return bytes;
+        }
+        return UNKNOWN_BYTES;
+    }
+}
@@ -1,13 +1,18 @@
 package ru.clevertec.news.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.clevertec.news.entity.Comment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * JPA repository for Comments.
@@ -28,6 +33,21 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findAllByNewsId(Long newsId, Pageable pageable);
 
+    @Query("""
+                FROM Comment c
+                LEFT JOIN FETCH c.news
+                WHERE c.id IN :ids
+            """
+    )
+    List<Comment> findAllByIdIn(Collection<Long> ids);
+
+    @Query("""
+                FROM Comment c
+                LEFT JOIN FETCH c.news
+            """
+    )
+    List<Comment> findAllWithNews(Pageable pageable);
+
     @Modifying
     @Query("""
                 DELETE FROM Comment c
@@ -35,4 +55,24 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
             """
     )
     void deleteAllByNewsId(Long id);
+
+    @Query("SELECT c.id FROM Comment c WHERE c.news.id = :newsId")
+    List<Long> findIdsByNewsId(Long newsId);
+
+    /**
+     * Unlike deleteById, it tells whether the row was deleted by this call, so a concurrent deletion is detected
+     *
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("""
+                DELETE FROM Comment c
+                WHERE c.id = :id
+            """
+    )
+    int deleteByIdReturningCount(Long id);
+
+    @Query("SELECT c.id FROM Comment c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Long> streamAllIds();
 }
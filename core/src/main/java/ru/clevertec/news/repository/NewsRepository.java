@@ -1,8 +1,15 @@
 package ru.clevertec.news.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.clevertec.news.entity.News;
 
+import java.util.stream.Stream;
+
 /**
  * JPA repository for News.
  *
@@ -12,4 +19,20 @@ import ru.clevertec.news.entity.News;
  */
 public interface NewsRepository extends JpaRepository<News, Long> {
 
+    /**
+     * Unlike deleteById, it tells whether the row was deleted by this call, so a concurrent deletion is detected
+     *
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("""
+                DELETE FROM News n
+                WHERE n.id = :id
+            """
+    )
+    int deleteByIdReturningCount(Long id);
+
+    @Query("SELECT n.id FROM News n")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Long> streamAllIds();
 }
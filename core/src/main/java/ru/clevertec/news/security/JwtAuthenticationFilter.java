@@ -5,7 +5,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -15,13 +14,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import ru.clevertec.news.client.UserClient;
 import ru.clevertec.news.dto.UserDto;
+import ru.clevertec.news.security.principal.ResolvedPrincipals;
 
 import java.io.IOException;
 
 /**
- * Authentication filter class
+ * Authentication filter class, the user of the token is shared with the other filters by {@link ResolvedPrincipals}
  *
  * @author Yuryeu Andrei
  */
@@ -29,7 +28,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final UserClient userClient;
+    private final ResolvedPrincipals resolvedPrincipals;
 
     @Override
     protected void doFilterInternal(
@@ -37,13 +36,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (header == null || !header.startsWith("Bearer ")) {
+        UserDto userDto = resolvedPrincipals.of(request);
+        if (userDto == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        UserDto userDto = userClient.getUserDetails(header);
         UserDetails userDetails = User.builder()
                 .username(userDto.getUsername())
                 .password("")
@@ -12,8 +12,8 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import ru.clevertec.handling.exception.ModificationException;
-import ru.clevertec.news.client.UserClient;
 import ru.clevertec.news.dto.*;
+import ru.clevertec.news.security.principal.ResolvedPrincipals;
 import ru.clevertec.news.security.request.RequestWrapper;
 import ru.clevertec.news.service.CommentService;
 import ru.clevertec.news.service.NewsService;
@@ -25,7 +25,7 @@ import java.util.Scanner;
 
 /**
  * Username validation filter class, used to have possibility of removing only those News and Comments,
- * that belong to the current user
+ * that belong to the current user. The user is resolved once per request by {@link ResolvedPrincipals}
  *
  * @author Yuryeu Andrei
  */
@@ -33,7 +33,7 @@ import java.util.Scanner;
 @RequiredArgsConstructor
 public class UsernameValidationFilter extends OncePerRequestFilter {
 
-    private final UserClient userClient;
+    private final ResolvedPrincipals resolvedPrincipals;
     private final NewsService newsService;
     private final CommentService commentService;
     private final ObjectMapper mapper;
@@ -44,13 +44,14 @@ public class UsernameValidationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        String header = request.getHeader("Authorization");
-        if (header == null || !header.startsWith("Bearer ")) {
+        UserDto principal = resolvedPrincipals.of(request);
+        if (principal == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        List<AuthorityDto> authorities = userClient.getUserDetails(header).getAuthorities();
+        List<AuthorityDto> authorities = principal.getAuthorities();
+        String username = principal.getUsername();
         //ADMIN HAS >3 AUTHORITIES, HE CAN MODIFY EVERYTHING
         if (authorities.size() > 3) {
             filterChain.doFilter(request, response);
@@ -61,7 +62,6 @@ public class UsernameValidationFilter extends OncePerRequestFilter {
         if ("POST".equalsIgnoreCase(request.getMethod())) {
             RequestWrapper servletRequest = new RequestWrapper(request);
             String requestBody = extractRequestBody(servletRequest);
-            String username = userClient.getUserDetails(header).getUsername();
             if ("/news".equalsIgnoreCase(request.getRequestURI()) &&
                     authorities.stream().anyMatch(e -> "WRITE_NEWS".equals(e.getName()))) {
                 NewsSaveDto news = mapper.readValue(requestBody, NewsSaveDto.class);
@@ -82,7 +82,6 @@ public class UsernameValidationFilter extends OncePerRequestFilter {
             RequestWrapper servletRequest = new RequestWrapper(request);
             String requestBody = extractRequestBody(servletRequest);
 
-            String username = userClient.getUserDetails(header).getUsername();
             if ("/news".equalsIgnoreCase(request.getRequestURI()) &&
                     authorities.stream().anyMatch(e -> "WRITE_NEWS".equals(e.getName()))) {
                 NewsUpdateDto news = mapper.readValue(requestBody, NewsUpdateDto.class);
@@ -108,7 +107,6 @@ public class UsernameValidationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            String username = userClient.getUserDetails(header).getUsername();
             Long id = Long.valueOf(URIElements[2]);
             if ("news".equalsIgnoreCase(URIElements[1]) &&
                     authorities.stream().anyMatch(e -> "DELETE_NEWS".equals(e.getName()))) {
@@ -0,0 +1,60 @@
+package ru.clevertec.news.security.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.impl.TinyLFUCache;
+import ru.clevertec.news.client.UserClient;
+import ru.clevertec.news.security.principal.CachingPrincipalResolver;
+import ru.clevertec.news.security.principal.JwtPrincipalResolver;
+import ru.clevertec.news.security.principal.PrincipalResolver;
+import ru.clevertec.news.security.principal.PrincipalRevocationEndpoint;
+import ru.clevertec.news.security.principal.RemotePrincipalResolver;
+
+import java.time.Duration;
+
+/**
+ * Tokens are verified locally, in case the secret key of the security service is set,
+ * otherwise every token is resolved by the security service. Principals resolved by the security service
+ * are cached by client.principal-cache.size(10000 by default) and client.principal-cache.time-to-live
+ * (5m by default, never longer than the token lives)
+ *
+ * @author Yuryeu Andrei
+ */
+@Configuration
+public class PrincipalResolverConfig {
+
+    @Value("${spring.security.jwt.secret-key:}")
+    private String secretKey;
+    @Value("${spring.security.jwt.issuer:}")
+    private String issuer;
+    @Value("${client.principal-cache.size:10000}")
+    private int principalCacheSize;
+    @Value("${client.principal-cache.time-to-live:5m}")
+    private Duration principalCacheTimeToLive;
+
+    @Bean
+    public CachingPrincipalResolver principalCache(UserClient userClient) {
+        TinyLFUCache cache = new TinyLFUCache(principalCacheSize, CachePolicy.builder()
+                .expireAfterWrite(principalCacheTimeToLive)
+                .build());
+        return new CachingPrincipalResolver(new RemotePrincipalResolver(userClient), cache,
+                principalCacheTimeToLive, System::currentTimeMillis);
+    }
+
+    @Bean
+    public PrincipalRevocationEndpoint principalRevocationEndpoint(CachingPrincipalResolver principalCache) {
+        return new PrincipalRevocationEndpoint(principalCache);
+    }
+
+    @Bean
+    @Primary
+    public PrincipalResolver principalResolver(CachingPrincipalResolver principalCache) {
+        if (secretKey.isEmpty()) {
+            return principalCache;
+        }
+        return new JwtPrincipalResolver(secretKey, issuer, principalCache);
+    }
+}
@@ -2,6 +2,7 @@ package ru.clevertec.news.security.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -17,7 +18,8 @@ import ru.clevertec.news.security.UsernameValidationFilter;
 
 /**
  * Spring security configuration class. Details:csrf disabled, all requests must be authorized,
- * 3 filters for authentication, usernameValidation and exception handling
+ * the actuator endpoints managing the caches(principals and cachestats) are available for users
+ * with MANAGE_CACHES authority only, 3 filters for authentication, usernameValidation and exception handling
  *
  * @author Yuryeu Andrei
  */
@@ -27,6 +29,8 @@ import ru.clevertec.news.security.UsernameValidationFilter;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    public static final String MANAGE_CACHES = "MANAGE_CACHES";
+
     private final JwtAuthenticationFilter authenticationFilter;
     private final ExceptionSecurityFilter exceptionFilter;
     private final UsernameValidationFilter usernameValidationFilter;
@@ -43,6 +47,8 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize ->
                         authorize
+                                .requestMatchers(EndpointRequest.to("principals", "cachestats"))
+                                .hasAuthority(MANAGE_CACHES)
                                 .anyRequest().permitAll())
                 .addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(usernameValidationFilter, JwtAuthenticationFilter.class)
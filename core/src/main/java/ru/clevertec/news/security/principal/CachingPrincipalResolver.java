@@ -0,0 +1,133 @@
+package ru.clevertec.news.security.principal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.clevertec.news.cache.Cache;
+import ru.clevertec.news.dto.UserDto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the principals resolved by another resolver by the SHA-256 digest of the token, the token itself
+ * is not kept. An entry lives for the time to live, but never after the expiry of its token, so an expired token
+ * is resolved again and rejected. The security service revokes the principals of a user, e.g. on a role change,
+ * by {@link #revoke(String)}: the entries resolved before the revocation are not served anymore.
+ *
+ * @author Yuryeu Andrei
+ * @see PrincipalRevocationEndpoint
+ */
+public class CachingPrincipalResolver implements PrincipalResolver {
+
+    private static final String BEARER = "Bearer ";
+
+    private final PrincipalResolver delegate;
+    private final Cache cache;
+    private final Duration timeToLive;
+    private final LongSupplier clock;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ConcurrentMap<String, Long> revocations = new ConcurrentHashMap<>();
+    private volatile long revokedAllAt = Long.MIN_VALUE;
+
+    /**
+     * @param cache thread-safe cache of the principals
+     * @param clock wall clock in milliseconds, the expiry of the tokens is compared with it
+     */
+    public CachingPrincipalResolver(PrincipalResolver delegate, Cache cache, Duration timeToLive, LongSupplier clock) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    private record CachedPrincipal(byte[] digest, UserDto principal, long resolvedAt) {
+    }
+
+    /**
+     * The digest is compared on a hit, so a collision of the cache keys never returns the principal of another token
+     */
+    @Override
+    public UserDto resolve(String header) {
+        byte[] digest = digest(header);
+        long key = ByteBuffer.wrap(digest).getLong();
+        if (cache.get(key) instanceof CachedPrincipal cached
+                && Arrays.equals(cached.digest(), digest) && !isRevoked(cached)) {
+            return cached.principal();
+        }
+        long resolvedAt = clock.getAsLong();
+        UserDto principal = delegate.resolve(header);
+        Duration entryTimeToLive = timeToLiveOf(header, resolvedAt);
+        if (entryTimeToLive.compareTo(Duration.ZERO) > 0) {
+            cache.set(key, new CachedPrincipal(digest, principal, resolvedAt), entryTimeToLive);
+        }
+        return principal;
+    }
+
+    /**
+     * Principals of the user resolved until now are resolved again, forgotten revocations are dropped,
+     * because the entries they revoke are expired
+     */
+    public void revoke(String username) {
+        long now = clock.getAsLong();
+        revocations.values().removeIf(revokedAt -> revokedAt + timeToLive.toMillis() < now);
+        revocations.put(username, now);
+    }
+
+    public void revokeAll() {
+        revocations.clear();
+        revokedAllAt = clock.getAsLong();
+    }
+
+    /**
+     * An entry resolved at the same millisecond as the revocation is revoked too, because it could be resolved
+     * before the revocation
+     */
+    private boolean isRevoked(CachedPrincipal cached) {
+        Long revokedAt = revocations.get(cached.principal().getUsername());
+        return cached.resolvedAt() <= revokedAllAt || revokedAt != null && cached.resolvedAt() <= revokedAt;
+    }
+
+    private Duration timeToLiveOf(String header, long now) {
+        Long expiration = expirationOf(header);
+        if (expiration == null) {
+            return timeToLive;
+        }
+        Duration untilExpiration = Duration.ofMillis(expiration - now);
+        return untilExpiration.compareTo(timeToLive) < 0 ? untilExpiration : timeToLive;
+    }
+
+    /**
+     * The token was accepted by the delegate, so its exp claim is read without verifying the signature again
+     *
+     * @return expiry of the token in milliseconds or null if the token has no exp claim
+     */
+    private Long expirationOf(String header) {
+        String[] parts = header.substring(BEARER.length()).split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode expiration = mapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return expiration != null && expiration.canConvertToLong() ? expiration.asLong() * 1000 : null;
+        } catch (IOException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static byte[] digest(String header) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(header.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.clevertec.news.security.principal;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.http.HttpStatus;
+import ru.clevertec.handling.exception.LoginException;
+import ru.clevertec.news.dto.AuthorityDto;
+import ru.clevertec.news.dto.UserDto;
+
+import java.util.List;
+
+/**
+ * Resolves the principal from the token itself: the signature is verified by the secret key shared with
+ * the security service, the expiry and the issuer are checked like the security service does, the authorities
+ * are taken from the authorities claim. Tokens issued without the claim are resolved by the fallback resolver.
+ *
+ * @author Yuryeu Andrei
+ */
+public class JwtPrincipalResolver implements PrincipalResolver {
+
+    static final String AUTHORITIES_CLAIM = "authorities";
+    private static final String BEARER = "Bearer ";
+
+    private final JwtParser parser;
+    private final PrincipalResolver fallback;
+
+    /**
+     * @param secretKey base64 encoded HMAC key of the security service
+     */
+    public JwtPrincipalResolver(String secretKey, String issuer, PrincipalResolver fallback) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .requireIssuer(issuer)
+                .build();
+        this.fallback = fallback;
+    }
+
+    @Override
+    public UserDto resolve(String header) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(header.substring(BEARER.length())).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new LoginException("Invalid token: " + ex.getMessage(), HttpStatus.FORBIDDEN);
+        }
+        List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        if (authorities == null) {
+            return fallback.resolve(header);
+        }
+        return new UserDto(claims.getSubject(), authorities.stream()
+                .map(authority -> new AuthorityDto(String.valueOf(authority)))
+                .toList());
+    }
+}
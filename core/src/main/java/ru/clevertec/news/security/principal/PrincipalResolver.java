@@ -0,0 +1,17 @@
+package ru.clevertec.news.security.principal;
+
+import ru.clevertec.news.dto.UserDto;
+
+/**
+ * Resolves the user and the authorities of a request by its Authorization header
+ *
+ * @author Yuryeu Andrei
+ */
+public interface PrincipalResolver {
+
+    /**
+     * @param header Authorization header with the Bearer token
+     * @throws ru.clevertec.handling.exception.LoginException in case the token is not valid
+     */
+    UserDto resolve(String header);
+}
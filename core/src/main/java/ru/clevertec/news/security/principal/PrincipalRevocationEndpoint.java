@@ -0,0 +1,29 @@
+package ru.clevertec.news.security.principal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+/**
+ * Actuator endpoint, the security service pushes revocations to: <b>DELETE /actuator/principals/{username}</b>
+ * drops the cached principals of the user, <b>DELETE /actuator/principals</b> drops all of them
+ *
+ * @author Yuryeu Andrei
+ */
+@Endpoint(id = "principals")
+@RequiredArgsConstructor
+public class PrincipalRevocationEndpoint {
+
+    private final CachingPrincipalResolver principalCache;
+
+    @DeleteOperation
+    public void revoke(@Selector String username) {
+        principalCache.revoke(username);
+    }
+
+    @DeleteOperation
+    public void revokeAll() {
+        principalCache.revokeAll();
+    }
+}
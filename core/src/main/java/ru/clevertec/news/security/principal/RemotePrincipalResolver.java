@@ -0,0 +1,21 @@
+package ru.clevertec.news.security.principal;
+
+import lombok.RequiredArgsConstructor;
+import ru.clevertec.news.client.UserClient;
+import ru.clevertec.news.dto.UserDto;
+
+/**
+ * Resolves the principal by the security service, every call is an HTTP request
+ *
+ * @author Yuryeu Andrei
+ */
+@RequiredArgsConstructor
+public class RemotePrincipalResolver implements PrincipalResolver {
+
+    private final UserClient userClient;
+
+    @Override
+    public UserDto resolve(String header) {
+        return userClient.getUserDetails(header);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.clevertec.news.security.principal;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import ru.clevertec.news.dto.UserDto;
+
+/**
+ * Principal of the request resolved once and kept in a request attribute, so every filter and the downstream
+ * code of the request share it instead of resolving the same token again
+ *
+ * @author Yuryeu Andrei
+ */
+@Component
+@RequiredArgsConstructor
+public class ResolvedPrincipals {
+
+    static final String ATTRIBUTE = ResolvedPrincipals.class.getName();
+    private static final String BEARER = "Bearer ";
+
+    private final PrincipalResolver principalResolver;
+
+    /**
+     * @return principal of the Bearer token of the request or null if the request has no Bearer token
+     */
+    public UserDto of(HttpServletRequest request) {
+        if (request.getAttribute(ATTRIBUTE) instanceof UserDto principal) {
+            return principal;
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            return null;
+        }
+        UserDto principal = principalResolver.resolve(header);
+        request.setAttribute(ATTRIBUTE, principal);
+        return principal;
+    }
+}
@@ -13,6 +13,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.clevertec.handling.exception.ServiceException;
 import ru.clevertec.logging.annotation.Logging;
+import ru.clevertec.news.annotation.MyCacheable;
+import ru.clevertec.news.cache.filter.ExistenceFilters;
+import ru.clevertec.news.cache.page.PageCache;
+import ru.clevertec.news.cache.page.PageEviction;
 import ru.clevertec.news.dto.CommentDto;
 import ru.clevertec.news.dto.CommentListDto;
 import ru.clevertec.news.dto.CommentSaveDto;
@@ -29,6 +33,7 @@ import static org.springframework.data.domain.ExampleMatcher.GenericPropertyMatc
 
 /**
  * Service class for comments with <b>CRUD</b> operations and wrapping into <b>DTO</b>.
+ * Pages of comments of News are cached, a write evicts only the pages of the News of the written comment.
  *
  * @author Yuryeu Andrei
  * @see CommentRepository
@@ -38,24 +43,33 @@ import static org.springframework.data.domain.ExampleMatcher.GenericPropertyMatc
 @RequiredArgsConstructor
 @CacheConfig(cacheNames = "Comments")
 @Logging
+@MyCacheable(value = CommentService.COMMENTS, notFoundMessage = CommentService.NOT_FOUND_MESSAGE)
 public class CommentService {
 
+    public static final String COMMENTS = "comments";
+    public static final String COMMENT_PAGES = "comment-pages";
+    public static final String NOT_FOUND_MESSAGE = "The comment with id = %d was not found";
+
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
+    private final PageCache pageCache;
+    private final ExistenceFilters existenceFilters;
 
     /**
-     * Method for finding Comment by its ID
+     * Method for finding Comment by its ID. With sync the loads of the cache are serialized, Spring's RedisCache
+     * synchronizes them per cache instance, not per ID, so concurrent misses of any IDs of an instance wait
+     * for each other and a miss on the same ID is loaded once
      *
      * @param id ID of target entity
      * @return returns a <b>DTO</b> made out of found Comment
      * @throws ServiceException in case of <b>null</b> ID and if Comment not found
      * @see CommentDto
      */
-    @Cacheable(key = "#id")
+    @Cacheable(key = "#id", sync = true)
     @Transactional(readOnly = true)
     public CommentDto findById(Long id) throws ServiceException {
         return commentRepository.findById(id).map(commentMapper::toDto)
-                .orElseThrow(() -> new ServiceException("The comment with id = " + id + " was not found", HttpStatus.NOT_FOUND));
+                .orElseThrow(() -> new ServiceException(String.format(NOT_FOUND_MESSAGE, id), HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -88,12 +102,14 @@ public class CommentService {
      */
     @Transactional(readOnly = true)
     public List<CommentListDto> findAllByNewsId(Long newsId, Pageable pageable) throws ServiceException {
-        try {
-            List<Comment> comments = commentRepository.findAllByNewsId(newsId, pageable);
-            return commentMapper.toListDto(comments);
-        } catch (Exception ex) {
-            throw new ServiceException("The comments were not found", HttpStatus.NOT_FOUND);
-        }
+        return pageCache.get(COMMENT_PAGES, newsId, pageable, CommentListDto::getId, () -> {
+            try {
+                List<Comment> comments = commentRepository.findAllByNewsId(newsId, pageable);
+                return commentMapper.toListDto(comments);
+            } catch (Exception ex) {
+                throw new ServiceException("The comments were not found", HttpStatus.NOT_FOUND);
+            }
+        });
     }
 
     /**
@@ -128,7 +144,10 @@ public class CommentService {
     public CommentDto add(CommentSaveDto commentSaveDto) throws ServiceException {
         try {
             Comment comment = commentMapper.fromSaveDto(commentSaveDto);
-            return commentMapper.toDto(commentRepository.save(comment));
+            evictPagesOfNews(commentSaveDto.getNewsId());
+            Comment saved = commentRepository.save(comment);
+            existenceFilters.add(COMMENTS, saved.getId());
+            return commentMapper.toDto(saved);
         } catch (Exception ex) {
             throw new ServiceException("The comment was not added", HttpStatus.BAD_REQUEST);
         }
@@ -155,6 +174,7 @@ public class CommentService {
             }
 
             commentRepository.flush();
+            evictPagesOfNews(comment.getNews().getId());
             return commentMapper.toDto(comment);
         } catch (Exception ex) {
             throw new ServiceException("The comment with id = " + commentUpdateDto.getId() + " was not updated",
@@ -173,10 +193,31 @@ public class CommentService {
     @Transactional
     public boolean delete(Long id) {
         try {
-            commentRepository.deleteById(id);
+            commentRepository.findById(id).ifPresent(comment -> evictPagesOfNews(comment.getNews().getId()));
+            if (commentRepository.deleteByIdReturningCount(id) > 0) {
+                existenceFilters.remove(COMMENTS, id);
+            }
             return true;
         } catch (Exception ex) {
             throw new ServiceException("The comment with id = " + id + " was not deleted", HttpStatus.BAD_REQUEST);
         }
     }
+
+    /**
+     * Private method evicting the cached pages of comments of the News
+     */
+    private void evictPagesOfNews(Long newsId) {
+        pageCache.evict(COMMENT_PAGES, new PagesOfNews(newsId));
+    }
+
+    /**
+     * Pages of comments of the News, their filter is the ID of the News
+     */
+    record PagesOfNews(Long newsId) implements PageEviction {
+
+        @Override
+        public boolean test(Object filter, Pageable pageable) {
+            return filter.equals(newsId);
+        }
+    }
 }
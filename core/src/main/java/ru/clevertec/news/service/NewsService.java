@@ -1,13 +1,20 @@
 package ru.clevertec.news.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.clevertec.handling.exception.ServiceException;
 import ru.clevertec.logging.annotation.Logging;
+import ru.clevertec.news.annotation.MyCacheable;
+import ru.clevertec.news.cache.EntityEviction;
+import ru.clevertec.news.cache.filter.ExistenceFilters;
+import ru.clevertec.news.cache.page.PageCache;
+import ru.clevertec.news.cache.page.PageEviction;
 import ru.clevertec.news.dto.NewsDto;
 import ru.clevertec.news.dto.NewsListDto;
 import ru.clevertec.news.dto.NewsSaveDto;
@@ -19,11 +26,14 @@ import ru.clevertec.news.repository.CommentRepository;
 import ru.clevertec.news.repository.NewsRepository;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 import static org.springframework.data.domain.ExampleMatcher.GenericPropertyMatchers.contains;
 
 /**
  * Service class for news with <b>CRUD</b> operations and wrapping into <b>DTO</b>.
+ * Pages of news are cached, a write evicts only the pages, whose filter matches the written news.
  *
  * @author Yuryeu Andrei
  * @see NewsRepository
@@ -32,11 +42,19 @@ import static org.springframework.data.domain.ExampleMatcher.GenericPropertyMatc
 @Service
 @RequiredArgsConstructor
 @Logging
+@MyCacheable(value = NewsService.NEWS, notFoundMessage = NewsService.NOT_FOUND_MESSAGE)
 public class NewsService {
 
+    public static final String NEWS = "news";
+    public static final String NEWS_PAGES = "news-pages";
+    public static final String NOT_FOUND_MESSAGE = "The piece of news with id = %d was not found";
+
     private final NewsRepository newsRepository;
     private final CommentRepository commentRepository;
     private final NewsMapper newsMapper;
+    private final PageCache pageCache;
+    private final ExistenceFilters existenceFilters;
+    private final ObjectProvider<EntityEviction> commentEviction;
 
     /**
      * Method for finding News by its ID
@@ -50,7 +68,7 @@ public class NewsService {
     public NewsDto findById(Long id) throws ServiceException {
         return newsRepository.findById(id).map(newsMapper::toDto)
                 .orElseThrow(() ->
-                        new ServiceException("The piece of news with id = " + id + " was not found", HttpStatus.NOT_FOUND));
+                        new ServiceException(String.format(NOT_FOUND_MESSAGE, id), HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -62,15 +80,17 @@ public class NewsService {
      */
     @Transactional(readOnly = true)
     public List<NewsListDto> findAll(NewsRequestFilter filter) throws ServiceException {
-        try {
-            List<News> news = newsRepository.findAll(
-                    constructExample(filter),
-                    filter.getPageable()
-            ).toList();
-            return newsMapper.toListDto(news);
-        } catch (Exception ex) {
-            throw new ServiceException("The news were not found", HttpStatus.NOT_FOUND);
-        }
+        return pageCache.get(NEWS_PAGES, NewsPageFilter.of(filter), filter.getPageable(), NewsListDto::getId, () -> {
+            try {
+                List<News> news = newsRepository.findAll(
+                        constructExample(filter),
+                        filter.getPageable()
+                ).toList();
+                return newsMapper.toListDto(news);
+            } catch (Exception ex) {
+                throw new ServiceException("The news were not found", HttpStatus.NOT_FOUND);
+            }
+        });
     }
 
     /**
@@ -103,8 +123,10 @@ public class NewsService {
     @Transactional
     public NewsDto add(NewsSaveDto newsSaveDto) throws ServiceException {
         try {
-            News news = newsMapper.fromSaveDto(newsSaveDto);
-            return newsMapper.toDto(newsRepository.save(news));
+            News news = newsRepository.save(newsMapper.fromSaveDto(newsSaveDto));
+            evictPagesMatching(news.getTitle(), news.getText());
+            existenceFilters.add(NEWS, news.getId());
+            return newsMapper.toDto(news);
         } catch (Exception ex) {
             throw new ServiceException("A piece of news was not added", HttpStatus.BAD_REQUEST);
         }
@@ -125,8 +147,11 @@ public class NewsService {
                     .orElseThrow(() ->
                             new ServiceException("The piece of news to update was not found. Id = " + newsUpdateDto.getId(),
                                     HttpStatus.NOT_FOUND));
+            String oldTitle = news.getTitle();
+            String oldText = news.getText();
             settingUpdatedFields(news, newsUpdateDto);
             newsRepository.flush();
+            evictUpdatedPages(news, oldTitle, oldText);
             return newsMapper.toDto(news);
         } catch (Exception ex) {
             throw new ServiceException("A piece of news with id = " + newsUpdateDto.getId() + " was not updated",
@@ -162,11 +187,87 @@ public class NewsService {
     @Transactional
     public boolean delete(Long id) {
         try {
+            newsRepository.findById(id).ifPresent(news -> evictPagesMatching(news.getTitle(), news.getText()));
+            pageCache.evict(CommentService.COMMENT_PAGES, new CommentService.PagesOfNews(id));
+            List<Long> commentIds = commentRepository.findIdsByNewsId(id);
             commentRepository.deleteAllByNewsId(id);
-            newsRepository.deleteById(id);
+            commentEviction.getIfAvailable(() -> EntityEviction.NONE).evictAfterCommit(commentIds);
+            if (newsRepository.deleteByIdReturningCount(id) > 0) {
+                existenceFilters.remove(NEWS, id);
+            }
             return true;
         } catch (Exception ex) {
             throw new ServiceException("The piece of news with id = " + id + " was not deleted", HttpStatus.BAD_REQUEST);
         }
     }
+
+    /**
+     * Private method evicting the pages, which may contain the added or deleted News, so they are shifted
+     */
+    private void evictPagesMatching(String title, String text) {
+        pageCache.evict(NEWS_PAGES, new MatchingNews(title, text));
+    }
+
+    /**
+     * Private method evicting the pages, which may have changed because of the News update.
+     * News may enter or leave the pages of a filter or move within them, if they are sorted by a changed field,
+     * otherwise it changes only the page containing it.
+     */
+    private void evictUpdatedPages(News news, String oldTitle, String oldText) {
+        pageCache.evict(NEWS_PAGES, new UpdatedNews(oldTitle, oldText, news.getTitle(), news.getText()));
+        pageCache.evictContaining(NEWS_PAGES, news.getId());
+    }
+
+    private static boolean isSortedBy(Pageable pageable, String property) {
+        return pageable.getSort().getOrderFor(property) != null;
+    }
+
+    /**
+     * Pages of the filters matching the News
+     */
+    record MatchingNews(String title, String text) implements PageEviction {
+
+        @Override
+        public boolean test(Object filter, Pageable pageable) {
+            return ((NewsPageFilter) filter).matches(title, text);
+        }
+    }
+
+    /**
+     * Pages, which the updated News enters or leaves or moves within, if they are sorted by a changed field
+     */
+    record UpdatedNews(String oldTitle, String oldText, String title, String text) implements PageEviction {
+
+        @Override
+        public boolean test(Object filter, Pageable pageable) {
+            boolean matchedBefore = ((NewsPageFilter) filter).matches(oldTitle, oldText);
+            boolean matchesNow = ((NewsPageFilter) filter).matches(title, text);
+            return matchedBefore != matchesNow || matchesNow
+                    && (!Objects.equals(title, oldTitle) && isSortedBy(pageable, "title")
+                    || !Objects.equals(text, oldText) && isSortedBy(pageable, "text"));
+        }
+    }
+
+    /**
+     * Filter of the cached pages, normalized the same way as the query matches it: case-insensitive and
+     * with empty parts ignored
+     */
+    private record NewsPageFilter(String partOfTitle, String partOfText) {
+
+        private static NewsPageFilter of(NewsRequestFilter filter) {
+            return new NewsPageFilter(normalize(filter.getPartOfTitle()), normalize(filter.getPartOfText()));
+        }
+
+        private boolean matches(String title, String text) {
+            return contains(title, partOfTitle) && contains(text, partOfText);
+        }
+
+        private static boolean contains(String value, String part) {
+            return part == null || value != null && value.toLowerCase(Locale.ROOT).contains(part);
+        }
+
+        private static String normalize(String part) {
+            return part == null || part.isEmpty() ? null : part.toLowerCase(Locale.ROOT);
+        }
+    }
 }
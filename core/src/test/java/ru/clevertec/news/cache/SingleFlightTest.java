@@ -0,0 +1,118 @@
+package ru.clevertec.news.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.impl.LRUCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightTest {
+
+    private static final int THREADS = 16;
+
+    @Test
+    void checkLoadShouldRunLoaderOnceForConcurrentCallers() throws Exception {
+        //given
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch allWaiting = new CountDownLatch(THREADS - 1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Object>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                allWaiting.countDown();
+                return load(singleFlight, () -> {
+                    loads.incrementAndGet();
+                    allWaiting.await(5, TimeUnit.SECONDS);
+                    Thread.sleep(100);
+                    return "news1";
+                });
+            }));
+        }
+
+        //then
+        for (Future<Object> result : results) {
+            Assertions.assertEquals("news1", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void checkLoadShouldShareExceptionWithWaitingCallers() throws Exception {
+        //given
+        SingleFlight singleFlight = new SingleFlight();
+        CountDownLatch loading = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Object> leader = executor.submit(() -> load(singleFlight, () -> {
+            loading.countDown();
+            Thread.sleep(200);
+            throw new IllegalStateException("not found");
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+
+        //when
+        Throwable actual = Assertions.assertThrows(Throwable.class, () -> singleFlight.load("news", 1L, () -> "other"));
+
+        //then
+        Assertions.assertTrue(actual instanceof IllegalStateException);
+        Assertions.assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void checkLoadShouldLoadSameIdOfDifferentRegionsSeparately() throws Throwable {
+        //given
+        SingleFlight singleFlight = new SingleFlight();
+
+        //when
+        Object news = singleFlight.load("news", 1L, () -> "news1");
+        Object comment = singleFlight.load("comments", 1L, () -> "comment1");
+
+        //then
+        Assertions.assertEquals("news1", news);
+        Assertions.assertEquals("comment1", comment);
+    }
+
+    @Test
+    void checkLoadShouldReturnValueCachedByPreviousLoadWithoutLoadingAgain() throws Throwable {
+        //given
+        SingleFlight singleFlight = new SingleFlight();
+        Cache cache = new LRUCache(16);
+        AtomicInteger loads = new AtomicInteger();
+        singleFlight.load("news", 1L, cache, () -> {
+            loads.incrementAndGet();
+            cache.set(1L, "news1");
+            return "news1";
+        });
+
+        //when
+        Object actual = singleFlight.load("news", 1L, cache, () -> {
+            loads.incrementAndGet();
+            return "reloaded";
+        });
+
+        //then
+        Assertions.assertEquals("news1", actual);
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    private static Object load(SingleFlight singleFlight, SingleFlight.Loader loader) throws Exception {
+        try {
+            return singleFlight.load("news", 1L, loader);
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
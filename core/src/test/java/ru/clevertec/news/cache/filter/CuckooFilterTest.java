@@ -0,0 +1,66 @@
+package ru.clevertec.news.cache.filter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+class CuckooFilterTest {
+
+    @Test
+    void checkMightContainShouldBeTrueForEveryAddedId() {
+        //given
+        CuckooFilter filter = new CuckooFilter(100_000);
+
+        //when
+        LongStream.rangeClosed(1, 100_000).forEach(filter::add);
+
+        //then
+        Assertions.assertTrue(LongStream.rangeClosed(1, 100_000).allMatch(filter::mightContain));
+        Assertions.assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void checkMightContainShouldRejectAlmostAllAbsentIds() {
+        //given
+        CuckooFilter filter = new CuckooFilter(100_000);
+        LongStream.rangeClosed(1, 100_000).forEach(filter::add);
+
+        //when
+        long falsePositives = LongStream.rangeClosed(1_000_001, 2_000_000).filter(filter::mightContain).count();
+
+        //then
+        Assertions.assertTrue(falsePositives < 1_000_000 * filter.falsePositiveRate() * 2);
+        Assertions.assertTrue(filter.falsePositiveRate() < 0.001);
+    }
+
+    @Test
+    void checkRemoveShouldRejectRemovedIdAndKeepOthers() {
+        //given
+        CuckooFilter filter = new CuckooFilter(1000);
+        LongStream.rangeClosed(1, 1000).forEach(filter::add);
+
+        //when
+        LongStream.rangeClosed(1, 500).forEach(filter::remove);
+
+        //then
+        Assertions.assertTrue(LongStream.rangeClosed(501, 1000).allMatch(filter::mightContain));
+        Assertions.assertTrue(LongStream.rangeClosed(1, 500).filter(filter::mightContain).count() < 5);
+        Assertions.assertEquals(500, filter.size());
+    }
+
+    @Test
+    void checkAddShouldSaturateFilterInsteadOfLosingIds() {
+        //given
+        CuckooFilter filter = new CuckooFilter(10);
+
+        //when
+        LongStream.rangeClosed(1, 1000).forEach(filter::add);
+
+        //then
+        Assertions.assertTrue(filter.isSaturated());
+        Assertions.assertTrue(filter.mightContain(5000));
+        Assertions.assertEquals(1.0, filter.falsePositiveRate());
+        Assertions.assertEquals(32, filter.memoryBytes());
+    }
+}
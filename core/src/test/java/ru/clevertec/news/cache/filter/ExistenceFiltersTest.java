@@ -0,0 +1,79 @@
+package ru.clevertec.news.cache.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+class ExistenceFiltersTest {
+
+    private ExistenceFilters filters;
+
+    @BeforeEach
+    void setUp() {
+        filters = new ExistenceFilters(Map.of("news", 100));
+    }
+
+    @Test
+    void checkMightContainShouldNotRejectIdsBeforeLoad() {
+        //when
+        boolean mightContain = filters.mightContain("news", 7L);
+
+        //then
+        Assertions.assertTrue(mightContain);
+    }
+
+    @Test
+    void checkMightContainShouldRejectAbsentIdsUpToLargestLoadedOne() {
+        //given
+        filters.load("news", Stream.of(1L, 2L, 5L, 20L));
+
+        //when
+        boolean deleted = filters.mightContain("news", 3L);
+        boolean existing = filters.mightContain("news", 5L);
+        boolean createdLater = filters.mightContain("news", 21L);
+        boolean unknownFilter = filters.mightContain("comments", 3L);
+
+        //then
+        Assertions.assertFalse(deleted);
+        Assertions.assertTrue(existing);
+        Assertions.assertTrue(createdLater);
+        Assertions.assertTrue(unknownFilter);
+    }
+
+    @Test
+    void checkAddAndRemoveShouldKeepFilterUpToDate() {
+        //given
+        filters.remove("news", 1L);
+        filters.load("news", Stream.of(1L, 2L, 20L));
+
+        //when
+        filters.add("news", 3L);
+        filters.remove("news", 2L);
+
+        //then
+        Assertions.assertTrue(filters.mightContain("news", 1L));
+        Assertions.assertFalse(filters.mightContain("news", 2L));
+        Assertions.assertTrue(filters.mightContain("news", 3L));
+    }
+
+    @Test
+    void checkBindToShouldPublishMemoryAndFalsePositiveRate() {
+        //given
+        MeterRegistry registry = new SimpleMeterRegistry();
+        filters.load("news", Stream.of(1L, 2L, 20L));
+
+        //when
+        filters.bindTo(registry);
+
+        //then
+        Assertions.assertEquals(256, registry.get("existence.filter.memory").tag("filter", "news").gauge().value());
+        Assertions.assertEquals(3, registry.get("existence.filter.size").tag("filter", "news").gauge().value());
+        double falsePositiveRate = registry.get("existence.filter.false.positive.rate").tag("filter", "news").gauge().value();
+        Assertions.assertTrue(falsePositiveRate > 0 && falsePositiveRate < 0.001);
+    }
+}
@@ -0,0 +1,150 @@
+package ru.clevertec.news.cache.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+class ConcurrentLRUCacheTest {
+
+    private static final int THREADS = 64;
+
+    @Test
+    void checkGetShouldReturnValueSetBefore() {
+        //given
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(16);
+        cache.set(1L, "value1");
+
+        //when
+        Object actual = cache.get(1L);
+
+        //then
+        Assertions.assertEquals("value1", actual);
+    }
+
+    @Test
+    void checkDeleteShouldFreeTheSlotOfDeletedEntity() {
+        //given
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(8, 1);
+        for (long key = 0; key < 8; key++) {
+            cache.set(key, "value" + key);
+        }
+
+        //when
+        cache.delete(3L);
+        cache.set(8L, "value8");
+
+        //then
+        Assertions.assertEquals(8, cache.size());
+        Assertions.assertEquals("value0", cache.get(0L));
+        Assertions.assertEquals("value8", cache.get(8L));
+    }
+
+    @Test
+    void checkCapacityShouldHoldUnderConcurrentReadsWritesAndDeletes() throws Exception {
+        //given
+        int capacity = 500;
+        int keySpace = 10_000;
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(capacity);
+
+        //when
+        runConcurrently(thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20_000; i++) {
+                long key = random.nextInt(keySpace);
+                int operation = random.nextInt(10);
+                if (operation < 6) {
+                    Object value = cache.get(key);
+                    if (value != null && !value.equals("value" + key)) {
+                        throw new AssertionError("Key " + key + " is mapped to " + value);
+                    }
+                } else if (operation < 9) {
+                    cache.set(key, "value" + key);
+                } else {
+                    cache.delete(key);
+                }
+            }
+        });
+
+        //then
+        int present = 0;
+        for (long key = 0; key < keySpace; key++) {
+            Object value = cache.get(key);
+            if (value != null) {
+                Assertions.assertEquals("value" + key, value);
+                present++;
+            }
+        }
+        Assertions.assertTrue(cache.size() <= capacity);
+        Assertions.assertEquals(cache.size(), present);
+        Assertions.assertEquals(cache.size(), cache.getAll().size());
+    }
+
+    @Test
+    void checkSetShouldEvictLeastRecentlyUsedEntitiesAfterConcurrentAccess() throws Exception {
+        //given
+        int capacity = 1024;
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(capacity, 16);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        //when
+        runConcurrently(thread -> {
+            for (long key = thread; key < capacity; key += THREADS) {
+                cache.set(key, "value" + key);
+            }
+            barrier.await();
+            for (long key = thread; key < capacity / 2; key += THREADS) {
+                cache.get(key);
+            }
+            barrier.await();
+            for (long key = capacity + thread; key < capacity + capacity / 2; key += THREADS) {
+                cache.set(key, "value" + key);
+            }
+        });
+
+        //then
+        Assertions.assertEquals(capacity, cache.size());
+        for (long key = 0; key < capacity; key++) {
+            if (key < capacity / 2) {
+                Assertions.assertEquals("value" + key, cache.get(key));
+            } else {
+                Assertions.assertNull(cache.get(key));
+            }
+        }
+        for (long key = capacity; key < capacity + capacity / 2; key++) {
+            Assertions.assertEquals("value" + key, cache.get(key));
+        }
+    }
+
+    private void runConcurrently(Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Task {
+
+        void run(int thread) throws Exception;
+    }
+}
@@ -3,11 +3,15 @@ package ru.clevertec.news.cache.impl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.HotKey;
 import ru.clevertec.news.entity.Comment;
 import ru.clevertec.news.entity.News;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 class LFUCacheTest {
 
@@ -97,4 +101,142 @@ class LFUCacheTest {
         //then
         Assertions.assertNotEquals(sizeBeforeDelete, sizeAfterDelete);
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkSetShouldEvictLeastRecentlyUsedEntityAmongEquallyFrequentOnes() {
+        //given
+        LFUCache lfuCache = new LFUCache(3);
+        lfuCache.set(1L, "value1");
+        lfuCache.set(2L, "value2");
+        lfuCache.set(3L, "value3");
+        lfuCache.get(2L);
+        lfuCache.get(1L);
+
+        //when
+        lfuCache.set(4L, "value4");
+        lfuCache.get(4L);
+        lfuCache.set(5L, "value5");
+
+        //then
+        Assertions.assertNull(lfuCache.get(3L));
+        Assertions.assertNull(lfuCache.get(2L));
+        Assertions.assertEquals("value1", lfuCache.get(1L));
+        Assertions.assertEquals("value4", lfuCache.get(4L));
+        Assertions.assertEquals(3, lfuCache.size());
+    }
+
+    @Test
+    void checkSetWithoutAgingShouldKeepEntityThatWasPopularLongAgo() {
+        //given
+        LFUCache lfuCache = new LFUCache(2);
+
+        //when
+        fillWithHotEntityAndThenWithNewOnes(lfuCache);
+
+        //then
+        Assertions.assertEquals("hot", lfuCache.get(1L));
+    }
+
+    @Test
+    void checkSetWithAgingShouldEvictEntityThatWasPopularLongAgo() {
+        //given
+        LFUCache lfuCache = new LFUCache(2, true);
+
+        //when
+        fillWithHotEntityAndThenWithNewOnes(lfuCache);
+
+        //then
+        Assertions.assertNull(lfuCache.get(1L));
+        Assertions.assertEquals(2, lfuCache.size());
+    }
+
+    @Test
+    void checkSetShouldEvictLeastFrequentlyUsedEntitiesToKeepWeightLimit() {
+        //given
+        LFUCache lfuCache = new LFUCache(100, false, CachePolicy.builder()
+                .maxWeight(10)
+                .weigher(value -> ((String) value).length())
+                .build());
+        lfuCache.set(1L, "aaaa");
+        lfuCache.get(1L);
+        lfuCache.set(2L, "bbbb");
+
+        //when
+        lfuCache.set(3L, "cccc");
+
+        //then
+        Assertions.assertEquals("aaaa", lfuCache.get(1L));
+        Assertions.assertNull(lfuCache.get(2L));
+        Assertions.assertEquals("cccc", lfuCache.get(3L));
+    }
+
+    @Test
+    void checkGetShouldRemoveAllExpiredEntitiesWithoutReadingThem() {
+        //given
+        AtomicLong time = new AtomicLong();
+        LFUCache lfuCache = new LFUCache(1000, false, CachePolicy.builder()
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .ticker(time::get)
+                .build());
+        for (long key = 0; key < 500; key++) {
+            lfuCache.set(key, "value" + key);
+        }
+        time.addAndGet(Duration.ofSeconds(20).toNanos());
+        lfuCache.set(500L, "value500");
+
+        //when
+        time.addAndGet(Duration.ofSeconds(15).toNanos());
+        Object actual = lfuCache.get(500L);
+
+        //then
+        Assertions.assertEquals("value500", actual);
+        Assertions.assertEquals(1, lfuCache.size());
+    }
+
+    @Test
+    void checkRestoreShouldKeepUseCountsOfHotKeys() {
+        //given
+        LFUCache lfuCache = new LFUCache(2);
+        lfuCache.restore(1L, "value1", 5);
+        lfuCache.restore(2L, "value2", 1);
+
+        //when
+        lfuCache.set(3L, "value3");
+
+        //then
+        Assertions.assertEquals("value1", lfuCache.get(1L));
+        Assertions.assertNull(lfuCache.get(2L));
+        Assertions.assertEquals(6, lfuCache.hotKeys().get(0).useCount());
+    }
+
+    private void fillWithHotEntityAndThenWithNewOnes(LFUCache lfuCache) {
+        lfuCache.set(1L, "hot");
+        for (int i = 0; i < 3; i++) {
+            lfuCache.get(1L);
+        }
+        for (long key = 2; key < 10; key++) {
+            lfuCache.set(key, "value" + key);
+            lfuCache.get(key);
+        }
+    }
+
+    @Test
+    void checkGetAllShouldNotChangeUseCounts() {
+        //given
+        LFUCache lfuCache = new LFUCache(2);
+        lfuCache.set(1L, "value1");
+        lfuCache.set(2L, "value2");
+        lfuCache.get(2L);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            lfuCache.getAll();
+            lfuCache.getAll(List.of(1L));
+        }
+        lfuCache.set(3L, "value3");
+
+        //then
+        Assertions.assertNull(lfuCache.get(1L));
+        Assertions.assertEquals("value2", lfuCache.get(2L));
+    }
+}
@@ -3,11 +3,16 @@ package ru.clevertec.news.cache.impl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.HotKey;
 import ru.clevertec.news.entity.Comment;
 import ru.clevertec.news.entity.News;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 class LRUCacheTest {
 
@@ -95,4 +100,161 @@ class LRUCacheTest {
         //then
         Assertions.assertNotEquals(sizeBeforeDelete, sizeAfterDelete);
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkSetAndDeleteShouldKeepEntitiesReachableWhileTableGrows() {
+        //given
+        LRUCache lruCache = new LRUCache(10_000);
+        for (long key = 0; key < 10_000; key++) {
+            lruCache.set(key * 1024, "value" + key);
+        }
+
+        //when
+        for (long key = 0; key < 10_000; key += 2) {
+            lruCache.delete(key * 1024);
+        }
+
+        //then
+        Assertions.assertEquals(5_000, lruCache.size());
+        for (long key = 0; key < 10_000; key++) {
+            Object expected = key % 2 == 0 ? null : "value" + key;
+            Assertions.assertEquals(expected, lruCache.get(key * 1024));
+        }
+    }
+
+    @Test
+    void checkGetShouldNotReturnEntityAfterWriteTimeToLive() {
+        //given
+        AtomicLong time = new AtomicLong();
+        LRUCache lruCache = new LRUCache(10, CachePolicy.builder()
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .ticker(time::get)
+                .build());
+        lruCache.set(1L, "value1");
+        lruCache.set(2L, "value2", Duration.ofMinutes(1));
+
+        //when
+        time.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        //then
+        Assertions.assertNull(lruCache.get(1L));
+        Assertions.assertEquals("value2", lruCache.get(2L));
+        Assertions.assertEquals(1, lruCache.size());
+    }
+
+    @Test
+    void checkGetShouldExtendAccessTimeToLive() {
+        //given
+        AtomicLong time = new AtomicLong();
+        LRUCache lruCache = new LRUCache(10, CachePolicy.builder()
+                .expireAfterAccess(Duration.ofSeconds(10))
+                .ticker(time::get)
+                .build());
+        lruCache.set(1L, "value1");
+        lruCache.set(2L, "value2");
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            time.addAndGet(Duration.ofSeconds(6).toNanos());
+            lruCache.get(1L);
+        }
+
+        //then
+        Assertions.assertEquals(List.of("value1"), lruCache.getAll());
+        Assertions.assertEquals(1, lruCache.size());
+    }
+
+    @Test
+    void checkSetShouldEvictEntitiesToKeepWeightLimit() {
+        //given
+        LRUCache lruCache = new LRUCache(100, CachePolicy.builder()
+                .maxWeight(10)
+                .weigher(value -> ((String) value).length())
+                .build());
+        lruCache.set(1L, "aaaa");
+        lruCache.set(2L, "bbbb");
+
+        //when
+        lruCache.set(3L, "cccc");
+
+        //then
+        Assertions.assertEquals(List.of("bbbb", "cccc"), lruCache.getAll());
+    }
+
+    @Test
+    void checkSetShouldNotStoreEntityHeavierThanWeightLimit() {
+        //given
+        LRUCache lruCache = new LRUCache(100, CachePolicy.builder()
+                .maxWeight(10)
+                .weigher(value -> ((String) value).length())
+                .build());
+        lruCache.set(1L, "aaaa");
+
+        //when
+        lruCache.set(2L, "b".repeat(11));
+
+        //then
+        Assertions.assertEquals(List.of("aaaa"), lruCache.getAll());
+    }
+
+    @Test
+    void checkRestoreShouldRebuildEvictionOrderFromHotKeys() {
+        //given
+        LRUCache lruCache = new LRUCache(3);
+        lruCache.set(1L, "value1");
+        lruCache.set(2L, "value2");
+        lruCache.set(3L, "value3");
+        lruCache.get(1L);
+        List<HotKey> hotKeys = lruCache.hotKeys();
+        LRUCache restored = new LRUCache(3);
+
+        //when
+        for (int i = hotKeys.size() - 1; i >= 0; i--) {
+            restored.restore(hotKeys.get(i).key(), "value" + hotKeys.get(i).key(), hotKeys.get(i).useCount());
+        }
+        restored.set(4L, "value4");
+
+        //then
+        Assertions.assertEquals(List.of(1L, 3L, 2L), hotKeys.stream().map(HotKey::key).toList());
+        Assertions.assertNull(restored.get(2L));
+        Assertions.assertEquals("value1", restored.get(1L));
+    }
+
+    @Test
+    void checkGetAllByKeysShouldReturnPresentValuesWithoutChangingEvictionOrder() {
+        //given
+        LRUCache lruCache = new LRUCache(2);
+        lruCache.set(1L, "value1");
+        lruCache.set(2L, "value2");
+
+        //when
+        Map<Long, Object> actual = lruCache.getAll(List.of(1L, 3L));
+        lruCache.set(3L, "value3");
+
+        //then
+        Assertions.assertEquals(Map.of(1L, "value1"), actual);
+        Assertions.assertNull(lruCache.get(1L));
+        Assertions.assertEquals("value2", lruCache.get(2L));
+    }
+
+    @Test
+    void checkHotKeysShouldSkipExpiredEntitiesWithoutRemovingThem() {
+        //given
+        AtomicLong time = new AtomicLong();
+        LRUCache lruCache = new LRUCache(10, CachePolicy.builder()
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .ticker(time::get)
+                .build());
+        lruCache.set(1L, "value1");
+        time.addAndGet(Duration.ofSeconds(6).toNanos());
+        lruCache.set(2L, "value2");
+        time.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        //when
+        List<HotKey> actual = lruCache.hotKeys();
+
+        //then
+        Assertions.assertEquals(List.of(new HotKey(2L, 0)), actual);
+        Assertions.assertEquals(2, lruCache.size());
+    }
+}
@@ -0,0 +1,60 @@
+package ru.clevertec.news.cache.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+class SynchronizedCacheTest {
+
+    private static final int THREADS = 16;
+
+    @Test
+    void checkCapacityShouldHoldForLFUCacheUnderConcurrentReadsWritesAndDeletes() throws Exception {
+        //given
+        int capacity = 500;
+        int keySpace = 10_000;
+        SynchronizedCache cache = new SynchronizedCache(new LFUCache(capacity));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //when
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < 20_000; j++) {
+                        long key = random.nextInt(keySpace);
+                        int operation = random.nextInt(10);
+                        if (operation < 6) {
+                            Object value = cache.get(key);
+                            if (value != null && !value.equals("value" + key)) {
+                                throw new AssertionError("Key " + key + " is mapped to " + value);
+                            }
+                        } else if (operation < 9) {
+                            cache.set(key, "value" + key);
+                        } else {
+                            cache.delete(key);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //then
+        Assertions.assertTrue(cache.size() <= capacity);
+        Assertions.assertEquals(cache.size(), cache.getAll().size());
+    }
+}
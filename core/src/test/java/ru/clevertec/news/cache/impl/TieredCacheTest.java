@@ -0,0 +1,75 @@
+package ru.clevertec.news.cache.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.offheap.OffHeapStore;
+import ru.clevertec.news.cache.serializer.JdkValueSerializer;
+
+class TieredCacheTest {
+
+    private TieredCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TieredCache(new LRUCache(2), new OffHeapStore(1 << 20, 1 << 16, new JdkValueSerializer()));
+        cache.set(1L, "value1");
+        cache.set(2L, "value2");
+        cache.set(3L, "value3");
+    }
+
+    @Test
+    void checkGetShouldReturnEntityEvictedFromHeapCache() {
+        //when
+        Object actual = cache.get(1L);
+
+        //then
+        Assertions.assertEquals("value1", actual);
+        Assertions.assertEquals(1, cache.offHeapHitCount());
+        Assertions.assertEquals(0, cache.heapHitCount());
+    }
+
+    @Test
+    void checkGetShouldCountHeapHitsAndMisses() {
+        //when
+        cache.get(3L);
+        cache.get(4L);
+
+        //then
+        Assertions.assertEquals(1, cache.heapHitCount());
+        Assertions.assertEquals(1, cache.missCount());
+        Assertions.assertEquals(0, cache.offHeapHitCount());
+    }
+
+    @Test
+    void checkSizeShouldCountBothTiers() {
+        //when
+        int actual = cache.size();
+
+        //then
+        Assertions.assertEquals(3, actual);
+    }
+
+    @Test
+    void checkSetShouldReplaceOffHeapValue() {
+        //given
+        cache.set(1L, "updated");
+
+        //when
+        Object actual = cache.get(1L);
+
+        //then
+        Assertions.assertEquals("updated", actual);
+        Assertions.assertEquals(3, cache.size());
+    }
+
+    @Test
+    void checkDeleteShouldRemoveOffHeapValue() {
+        //when
+        cache.delete(1L);
+
+        //then
+        Assertions.assertNull(cache.get(1L));
+        Assertions.assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,140 @@
+package ru.clevertec.news.cache.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.Cache;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class TinyLFUCacheTest {
+
+    @Test
+    void checkGetShouldReturnValueSetBefore() {
+        //given
+        TinyLFUCache cache = new TinyLFUCache(10);
+        cache.set(1L, "value1");
+
+        //when
+        Object actual = cache.get(1L);
+
+        //then
+        Assertions.assertEquals("value1", actual);
+    }
+
+    @Test
+    void checkSetShouldNotExceedCapacity() {
+        //given
+        TinyLFUCache cache = new TinyLFUCache(100);
+
+        //when
+        for (long key = 0; key < 1000; key++) {
+            cache.set(key, "value" + key);
+        }
+
+        //then
+        Assertions.assertEquals(100, cache.size());
+        Assertions.assertEquals(100, cache.getAll().size());
+    }
+
+    @Test
+    void checkSetShouldNotLetOneHitEntitiesPushOutPopularOne() {
+        //given
+        TinyLFUCache cache = new TinyLFUCache(10);
+        for (long key = 0; key < 10; key++) {
+            cache.set(key, "value" + key);
+        }
+        for (int i = 0; i < 5; i++) {
+            cache.get(3L);
+        }
+
+        //when
+        for (long key = 100; key < 200; key++) {
+            cache.get(key);
+            cache.set(key, "value" + key);
+        }
+
+        //then
+        Assertions.assertEquals("value3", cache.get(3L));
+        Assertions.assertEquals(10, cache.size());
+    }
+
+    @Test
+    void checkDeleteShouldDeleteEntityFromCache() {
+        //given
+        TinyLFUCache cache = new TinyLFUCache(10);
+        cache.set(1L, "value1");
+        cache.set(2L, "value2");
+
+        //when
+        cache.delete(1L);
+
+        //then
+        Assertions.assertNull(cache.get(1L));
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    /**
+     * Replays a trace shaped as findById traffic: popular stories change from phase to phase (a story goes viral
+     * and then fades out) and a long tail of one-hit reads is mixed in
+     */
+    @Test
+    void checkHitRatioShouldBeHigherThanLruAndLfuOnFindByIdTrace() {
+        //given
+        int capacity = 200;
+        long[] trace = findByIdTrace(new Random(42), 300_000);
+
+        //when
+        double tinyLfu = hitRatio(new TinyLFUCache(capacity), trace);
+        double lru = hitRatio(new LRUCache(capacity), trace);
+        double lfu = hitRatio(new LFUCache(capacity), trace);
+
+        //then
+        Assertions.assertTrue(tinyLfu > lru, "TinyLFU " + tinyLfu + " vs LRU " + lru);
+        Assertions.assertTrue(tinyLfu > lfu, "TinyLFU " + tinyLfu + " vs LFU " + lfu);
+    }
+
+    private double hitRatio(Cache cache, long[] trace) {
+        int hits = 0;
+        for (long id : trace) {
+            if (cache.get(id) != null) {
+                hits++;
+            } else {
+                cache.set(id, "value" + id);
+            }
+        }
+        return (double) hits / trace.length;
+    }
+
+    private long[] findByIdTrace(Random random, int length) {
+        int popular = 2_000;
+        int phases = 6;
+        double[] zipf = zipfDistribution(popular, 0.9);
+        long[] trace = new long[length];
+        long oneHitId = 1_000_000;
+        for (int i = 0; i < length; i++) {
+            int phase = i / (length / phases);
+            if (random.nextDouble() < 0.4) {
+                trace[i] = oneHitId++;
+            } else {
+                int rank = Arrays.binarySearch(zipf, random.nextDouble());
+                rank = rank < 0 ? -rank - 1 : rank;
+                trace[i] = (long) phase * popular + Math.min(rank, popular - 1);
+            }
+        }
+        return trace;
+    }
+
+    private double[] zipfDistribution(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+}
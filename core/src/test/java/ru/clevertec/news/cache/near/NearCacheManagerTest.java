@@ -0,0 +1,173 @@
+package ru.clevertec.news.cache.near;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import ru.clevertec.news.cache.impl.TinyLFUCache;
+import ru.clevertec.news.cache.refresh.Refresher;
+import ru.clevertec.news.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two near cache managers over one shared cache manager stand for two application instances over one Redis,
+ * the invalidation messages are delivered to the other manager synchronously
+ */
+class NearCacheManagerTest {
+
+    private ConcurrentMapCacheManager sharedCacheManager;
+    private NearCacheManager first;
+    private NearCacheManager second;
+
+    @BeforeEach
+    void setUp() {
+        sharedCacheManager = new ConcurrentMapCacheManager();
+        List<NearCacheManager> instances = new ArrayList<>();
+        first = new NearCacheManager(sharedCacheManager, () -> new TinyLFUCache(16),
+                (cacheName, key) -> instances.get(1).invalidateLocal(cacheName, key));
+        second = new NearCacheManager(sharedCacheManager, () -> new TinyLFUCache(16),
+                (cacheName, key) -> instances.get(0).invalidateLocal(cacheName, key));
+        instances.add(first);
+        instances.add(second);
+    }
+
+    @Test
+    void checkGetShouldBeServedLocallyAfterFirstLoad() {
+        //given
+        Cache news = first.getCache("news");
+        AtomicInteger loads = new AtomicInteger();
+        news.get(1L, () -> "news" + loads.incrementAndGet());
+        sharedCacheManager.getCache("news").clear();
+
+        //when
+        Object cached = news.get(1L, () -> "news" + loads.incrementAndGet());
+
+        //then
+        Assertions.assertEquals("news1", cached);
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void checkGetShouldLoadMissFromSharedCache() {
+        //given
+        sharedCacheManager.getCache("news").put(1L, "news1");
+
+        //when
+        Cache.ValueWrapper cached = first.getCache("news").get(1L);
+
+        //then
+        Assertions.assertNotNull(cached);
+        Assertions.assertEquals("news1", cached.get());
+    }
+
+    @Test
+    void checkPutShouldInvalidateOtherInstance() {
+        //given
+        first.getCache("news").put(1L, "old");
+        second.getCache("news").get(1L);
+
+        //when
+        first.getCache("news").put(1L, "new");
+
+        //then
+        Assertions.assertEquals("new", second.getCache("news").get(1L).get());
+    }
+
+    @Test
+    void checkEvictShouldInvalidateOtherInstance() {
+        //given
+        first.getCache("news").put(1L, "news1");
+        second.getCache("news").get(1L);
+
+        //when
+        first.getCache("news").evict(1L);
+
+        //then
+        Assertions.assertNull(second.getCache("news").get(1L));
+    }
+
+    @Test
+    void checkClearShouldInvalidateOtherInstance() {
+        //given
+        first.getCache("news").put(1L, "news1");
+        first.getCache("news").put(2L, "news2");
+        second.getCache("news").get(1L);
+        second.getCache("news").get(2L);
+
+        //when
+        first.getCache("news").clear();
+
+        //then
+        Assertions.assertNull(second.getCache("news").get(1L));
+        Assertions.assertNull(second.getCache("news").get(2L));
+    }
+
+    @Test
+    void checkInvalidationShouldNotTouchOtherCaches() {
+        //given
+        first.getCache("news").put(1L, "news1");
+        first.getCache("comments").put(1L, "comment1");
+        sharedCacheManager.getCache("comments").clear();
+
+        //when
+        second.getCache("news").evict(1L);
+
+        //then
+        Assertions.assertNull(first.getCache("news").get(1L));
+        Assertions.assertEquals("comment1", first.getCache("comments").get(1L).get());
+    }
+
+    @Test
+    void checkGetShouldServeStaleSharedEntryAndReloadItInBackground() {
+        //given
+        AtomicLong time = new AtomicLong();
+        List<Runnable> reloads = new ArrayList<>();
+        NearCacheManager refreshing = new NearCacheManager(sharedCacheManager, () -> new TinyLFUCache(16),
+                InvalidationPublisher.NONE, () -> new Refresher(Duration.ofMinutes(5), time::get, reloads::add),
+                Map.of("news", key -> "news2"));
+        Cache news = refreshing.getCache("news");
+        news.get(1L, () -> "news1");
+        refreshing.invalidateLocal("news", 1L);
+        time.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        //when
+        Object stale = news.get(1L, () -> "news4");
+        reloads.forEach(Runnable::run);
+        Object refreshed = second.getCache("news").get(1L, () -> "news3");
+
+        //then
+        Assertions.assertEquals("news1", stale);
+        Assertions.assertEquals("news2", refreshed);
+    }
+
+    @Test
+    void checkBindToShouldPublishStatisticsOfCachesCreatedLater() {
+        //given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        first.bindTo(meterRegistry);
+        Cache comments = first.getCache("comments");
+
+        //when
+        comments.get(1L, () -> "comment1");
+        comments.get(1L, () -> "comment1");
+        comments.get(2L);
+
+        //then
+        CacheStats stats = first.getCache("comments").stats();
+        Assertions.assertEquals(1, stats.hitCount());
+        Assertions.assertEquals(2, stats.missCount());
+        Assertions.assertEquals(1, stats.loadSuccessCount());
+        Assertions.assertEquals(1, stats.size());
+        Assertions.assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "comments").tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(1, meterRegistry.get("cache.load.duration").tag("cache", "comments").functionTimer().count());
+    }
+}
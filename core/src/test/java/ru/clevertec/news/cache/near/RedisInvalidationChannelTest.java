@@ -0,0 +1,74 @@
+package ru.clevertec.news.cache.near;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RedisInvalidationChannelTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private NearCacheManager cacheManager;
+
+    private RedisInvalidationChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = new RedisInvalidationChannel(redisTemplate, () -> cacheManager);
+    }
+
+    @Test
+    void checkOnMessageShouldInvalidateKeyOfOtherInstance() {
+        //when
+        channel.onMessage(message("other-instance:news:5"), null);
+
+        //then
+        verify(cacheManager).invalidateLocal("news", 5L);
+    }
+
+    @Test
+    void checkOnMessageShouldClearCacheOfOtherInstance() {
+        //when
+        channel.onMessage(message("other-instance:news:*"), null);
+
+        //then
+        verify(cacheManager).invalidateLocal("news", null);
+    }
+
+    @Test
+    void checkOnMessageShouldIgnoreOwnMessages() {
+        //given
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        channel.publish("news", 5L);
+        verify(redisTemplate).convertAndSend(eq(RedisInvalidationChannel.CHANNEL), published.capture());
+
+        //when
+        channel.onMessage(message(published.getValue()), null);
+
+        //then
+        Assertions.assertTrue(published.getValue().endsWith(":news:5"));
+        verify(cacheManager, never()).invalidateLocal(anyString(), any());
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(RedisInvalidationChannel.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.clevertec.news.cache.negative;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.impl.LRUCache;
+import ru.clevertec.news.cache.region.CacheRegions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LocalNotFoundCacheTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private CacheRegions regions;
+    private LocalNotFoundCache notFoundCache;
+
+    @BeforeEach
+    void setUp() {
+        regions = new CacheRegions(name -> new LRUCache(2, CachePolicy.builder().ticker(time::get).build()), null);
+        notFoundCache = new LocalNotFoundCache(regions, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void checkGetShouldReturnMessageUntilTimeToLivePasses() {
+        //given
+        notFoundCache.put("news", 21L, "The piece of news with id = 21 was not found");
+
+        //when
+        time.addAndGet(Duration.ofSeconds(29).toNanos());
+        String remembered = notFoundCache.get("news", 21L);
+        time.addAndGet(Duration.ofSeconds(2).toNanos());
+        String forgotten = notFoundCache.get("news", 21L);
+
+        //then
+        Assertions.assertEquals("The piece of news with id = 21 was not found", remembered);
+        Assertions.assertNull(forgotten);
+    }
+
+    @Test
+    void checkEvictShouldForgetAbsenceOfCreatedEntity() {
+        //given
+        notFoundCache.put("news", 21L, "The piece of news with id = 21 was not found");
+
+        //when
+        notFoundCache.evict("news", 21L);
+
+        //then
+        Assertions.assertNull(notFoundCache.get("news", 21L));
+    }
+
+    @Test
+    void checkPutShouldNotEvictCachedEntitiesOfRegion() {
+        //given
+        regions.region("news").set(1L, "news1");
+        regions.region("news").set(2L, "news2");
+
+        //when
+        for (long id = 100; id < 110; id++) {
+            notFoundCache.put("news", id, "not found");
+        }
+
+        //then
+        Assertions.assertEquals(2, regions.region("news").size());
+        Assertions.assertEquals(2, regions.region("news" + LocalNotFoundCache.REGION_SUFFIX).size());
+        Assertions.assertNull(notFoundCache.get("comments", 109L));
+    }
+}
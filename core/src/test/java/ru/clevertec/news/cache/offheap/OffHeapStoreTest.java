@@ -0,0 +1,87 @@
+package ru.clevertec.news.cache.offheap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.serializer.JdkValueSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class OffHeapStoreTest {
+
+    @Test
+    void checkGetShouldReturnValuePutBefore() {
+        //given
+        OffHeapStore store = new OffHeapStore(4096, 1024, new JdkValueSerializer());
+        store.put(1L, "value1");
+
+        //when
+        Object actual = store.get(1L);
+
+        //then
+        Assertions.assertEquals("value1", actual);
+    }
+
+    @Test
+    void checkPutShouldReplacePreviousValue() {
+        //given
+        OffHeapStore store = new OffHeapStore(4096, 1024, new JdkValueSerializer());
+        store.put(1L, "value1");
+        store.put(1L, "value2");
+
+        //when
+        Object actual = store.get(1L);
+
+        //then
+        Assertions.assertEquals("value2", actual);
+        Assertions.assertEquals(1, store.size());
+    }
+
+    @Test
+    void checkPutShouldRejectValueLargerThanSlab() {
+        //given
+        OffHeapStore store = new OffHeapStore(4096, 1024, new JdkValueSerializer());
+
+        //when
+        boolean actual = store.put(1L, "x".repeat(2048));
+
+        //then
+        Assertions.assertFalse(actual);
+        Assertions.assertNull(store.get(1L));
+    }
+
+    @Test
+    void checkPutShouldEvictOldestSlabWhenBudgetIsExhausted() {
+        //given
+        OffHeapStore store = new OffHeapStore(4096, 1024, new JdkValueSerializer());
+        List<Long> evicted = new ArrayList<>();
+        store.setEvictionListener((key, value) -> evicted.add(key));
+
+        //when
+        for (long key = 0; key < 1000; key++) {
+            store.put(key, "value" + key);
+        }
+
+        //then
+        Assertions.assertFalse(evicted.isEmpty());
+        Assertions.assertEquals(0L, evicted.get(0));
+        Assertions.assertEquals(1000, store.size() + evicted.size());
+        Assertions.assertEquals("value999", store.get(999L));
+        Assertions.assertNull(store.get(0L));
+    }
+
+    @Test
+    void checkTakeShouldRemoveValue() {
+        //given
+        OffHeapStore store = new OffHeapStore(4096, 1024, new JdkValueSerializer());
+        store.put(1L, "value1");
+
+        //when
+        Object actual = store.take(1L);
+
+        //then
+        Assertions.assertEquals("value1", actual);
+        Assertions.assertNull(store.get(1L));
+        Assertions.assertEquals(0, store.size());
+    }
+}
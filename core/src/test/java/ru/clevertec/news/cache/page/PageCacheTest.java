@@ -0,0 +1,217 @@
+package ru.clevertec.news.cache.page;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.impl.LRUCache;
+import ru.clevertec.news.cache.region.CacheRegions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class PageCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 2);
+    private static final Pageable SECOND_PAGE = PageRequest.of(1, 2);
+
+    private PageCache pageCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        CacheRegions regions = new CacheRegions(name -> new LRUCache(16), null);
+        pageCache = new PageCache(regions::region);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void checkGetShouldReturnCachedPage() {
+        //given
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+
+        //when
+        List<Long> page = get("crypto", FIRST_PAGE, List.of(100L));
+
+        //then
+        Assertions.assertEquals(List.of(1L, 6L), page);
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void checkGetShouldCacheDifferentPagesSeparately() {
+        //given
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+
+        //when
+        List<Long> secondPage = get("crypto", SECOND_PAGE, List.of(10L, 11L));
+        List<Long> otherFilter = get("AI", FIRST_PAGE, List.of(2L, 4L));
+
+        //then
+        Assertions.assertEquals(List.of(10L, 11L), secondPage);
+        Assertions.assertEquals(List.of(2L, 4L), otherFilter);
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    void checkEvictShouldEvictOnlySelectedPages() {
+        //given
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+        get("crypto", SECOND_PAGE, List.of(10L, 11L));
+        get("AI", FIRST_PAGE, List.of(2L, 4L));
+
+        //when
+        pageCache.evict("news", (filter, pageable) -> filter.equals("crypto"));
+
+        //then
+        Assertions.assertEquals(List.of(0L), get("crypto", FIRST_PAGE, List.of(0L)));
+        Assertions.assertEquals(List.of(0L), get("crypto", SECOND_PAGE, List.of(0L)));
+        Assertions.assertEquals(List.of(2L, 4L), get("AI", FIRST_PAGE, List.of(0L)));
+    }
+
+    @Test
+    void checkEvictContainingShouldEvictOnlyPagesWithId() {
+        //given
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+        get("crypto", SECOND_PAGE, List.of(10L, 11L));
+
+        //when
+        pageCache.evictContaining("news", 10L);
+
+        //then
+        Assertions.assertEquals(List.of(1L, 6L), get("crypto", FIRST_PAGE, List.of(0L)));
+        Assertions.assertEquals(List.of(0L), get("crypto", SECOND_PAGE, List.of(0L)));
+    }
+
+    @Test
+    void checkEvictContainingShouldNotEvictPageReloadedWithoutId() {
+        //given
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+        pageCache.evict("news", (filter, pageable) -> filter.equals("crypto"));
+        get("crypto", FIRST_PAGE, List.of(10L, 11L));
+
+        //when
+        pageCache.evictContaining("news", 1L);
+
+        //then
+        Assertions.assertEquals(List.of(10L, 11L), get("crypto", FIRST_PAGE, List.of(0L)));
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void checkGetShouldForgetExpiredPagesInIndex() {
+        //given
+        AtomicLong time = new AtomicLong();
+        CacheRegions regions = new CacheRegions(name -> new LRUCache(16, CachePolicy.builder()
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .ticker(time::get)
+                .build()), null);
+        pageCache = new PageCache(regions::region);
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+        get("crypto", SECOND_PAGE, List.of(10L, 11L));
+        time.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        //when
+        get("AI", FIRST_PAGE, List.of(2L, 4L));
+
+        //then
+        Assertions.assertEquals(1, pageCache.indexedPages("news"));
+        Assertions.assertEquals(List.of(0L), get("crypto", FIRST_PAGE, List.of(0L)));
+    }
+
+    @Test
+    void checkGetShouldNotIndexPageRejectedByRegion() {
+        //given
+        CacheRegions regions = new CacheRegions(name -> new LRUCache(16, CachePolicy.builder()
+                .maxWeight(1)
+                .weigher(value -> 2)
+                .build()), null);
+        pageCache = new PageCache(regions::region);
+
+        //when
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+
+        //then
+        Assertions.assertEquals(0, pageCache.indexedPages("news"));
+    }
+
+    @Test
+    void checkGetShouldNotCachePageLoadedDuringEviction() {
+        //when
+        pageCache.get("news", "crypto", FIRST_PAGE, Long::valueOf, () -> {
+            pageCache.evictContaining("news", 1L);
+            return List.of(1L, 6L);
+        });
+
+        //then
+        Assertions.assertEquals(List.of(0L), get("crypto", FIRST_PAGE, List.of(0L)));
+    }
+
+    @Test
+    void checkEvictShouldBeAppliedAfterCommit() {
+        //given
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //when
+            pageCache.evictContaining("news", 1L);
+            List<Long> beforeCommit = get("crypto", FIRST_PAGE, List.of(0L));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            //then
+            Assertions.assertEquals(List.of(1L, 6L), beforeCommit);
+            Assertions.assertEquals(List.of(0L), get("crypto", FIRST_PAGE, List.of(0L)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void checkEvictShouldPublishEvictionAndEvictLocalShouldNot() {
+        //given
+        PageInvalidationPublisher publisher = Mockito.mock(PageInvalidationPublisher.class);
+        CacheRegions regions = new CacheRegions(name -> new LRUCache(16), null);
+        pageCache = new PageCache(regions::region, publisher);
+        PageEviction crypto = (filter, pageable) -> filter.equals("crypto");
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+        get("AI", FIRST_PAGE, List.of(2L, 4L));
+
+        //when
+        pageCache.evict("news", crypto);
+        pageCache.evictLocalContaining("news", 2L);
+
+        //then
+        Mockito.verify(publisher).publish("news", crypto);
+        Mockito.verifyNoMoreInteractions(publisher);
+        Assertions.assertEquals(List.of(0L), get("crypto", FIRST_PAGE, List.of(0L)));
+        Assertions.assertEquals(List.of(0L), get("AI", FIRST_PAGE, List.of(0L)));
+    }
+
+    @Test
+    void checkDisabledPageCacheShouldAlwaysLoad() {
+        //given
+        pageCache = PageCache.disabled();
+        get("crypto", FIRST_PAGE, List.of(1L, 6L));
+
+        //when
+        List<Long> page = get("crypto", FIRST_PAGE, List.of(10L));
+
+        //then
+        Assertions.assertEquals(List.of(10L), page);
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    private List<Long> get(String filter, Pageable pageable, List<Long> loaded) {
+        return pageCache.get("news", filter, pageable, Long::valueOf, () -> {
+            loads.incrementAndGet();
+            return loaded;
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package ru.clevertec.news.cache.page;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RedisPageInvalidationChannelTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private PageCache pageCache;
+
+    private RedisPageInvalidationChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = new RedisPageInvalidationChannel(redisTemplate, new ObjectMapper(), () -> pageCache);
+    }
+
+    @Test
+    void checkOnMessageShouldEvictPagesSelectedByOtherInstance() {
+        //given
+        String published = publish(new PagesOf("crypto"));
+
+        //when
+        channel.onMessage(message(fromOtherInstance(published)), null);
+
+        //then
+        verify(pageCache).evictLocal("news", new PagesOf("crypto"));
+    }
+
+    @Test
+    void checkOnMessageShouldEvictPagesContainingIdOfOtherInstance() {
+        //when
+        channel.onMessage(message("other-instance:news:id:5"), null);
+
+        //then
+        verify(pageCache).evictLocalContaining("news", 5L);
+    }
+
+    @Test
+    void checkOnMessageShouldEvictAllPagesInCaseOfUnexpectedType() {
+        //given
+        ArgumentCaptor<PageEviction> evicted = ArgumentCaptor.forClass(PageEviction.class);
+
+        //when
+        channel.onMessage(message("other-instance:news:java.lang.String:\"crypto\""), null);
+
+        //then
+        verify(pageCache).evictLocal(eq("news"), evicted.capture());
+        Assertions.assertTrue(evicted.getValue().test("AI", PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void checkOnMessageShouldIgnoreOwnMessages() {
+        //given
+        String published = publish(new PagesOf("crypto"));
+
+        //when
+        channel.onMessage(message(published), null);
+
+        //then
+        verify(pageCache, never()).evictLocal(anyString(), any());
+        verify(pageCache, never()).evictLocalContaining(anyString(), anyLong());
+    }
+
+    @Test
+    void checkPublishShouldThrowIllegalArgumentExceptionInCaseOfNotRecord() {
+        //given
+        PageEviction lambda = (filter, pageable) -> true;
+
+        //when, then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> channel.publish("news", lambda));
+    }
+
+    private String publish(PageEviction pages) {
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        channel.publish("news", pages);
+        verify(redisTemplate).convertAndSend(eq(RedisPageInvalidationChannel.CHANNEL), published.capture());
+        return published.getValue();
+    }
+
+    private static String fromOtherInstance(String published) {
+        return "other-instance" + published.substring(published.indexOf(':'));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(RedisPageInvalidationChannel.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    record PagesOf(String filter) implements PageEviction {
+
+        @Override
+        public boolean test(Object filter, Pageable pageable) {
+            return filter.equals(this.filter);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.clevertec.news.cache.refresh;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.impl.LRUCache;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reloads are queued and run by the test, so it decides whether they finish before or after other operations
+ */
+class RefreshAheadCacheTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private final Queue<Runnable> reloads = new ArrayDeque<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private RefreshAheadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        LRUCache lruCache = new LRUCache(16, CachePolicy.builder()
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .ticker(time::get)
+                .build());
+        cache = new RefreshAheadCache(lruCache, new Refresher(Duration.ofMinutes(5), time::get, reloads::add));
+        cache.set(1L, "news");
+    }
+
+    @Test
+    void checkGetShouldNotReloadFreshEntry() {
+        //given
+        time.addAndGet(Duration.ofMinutes(4).toNanos());
+
+        //when
+        Object actual = cache.get(1L, () -> "news" + loads.incrementAndGet());
+
+        //then
+        Assertions.assertEquals("news", actual);
+        Assertions.assertTrue(reloads.isEmpty());
+    }
+
+    @Test
+    void checkGetShouldServeStaleEntryAndReloadItOnce() {
+        //given
+        time.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        //when
+        Object stale = cache.get(1L, () -> "news" + loads.incrementAndGet());
+        Object staleAgain = cache.get(1L, () -> "news" + loads.incrementAndGet());
+        reloads.forEach(Runnable::run);
+        Object refreshed = cache.get(1L, () -> "news" + loads.incrementAndGet());
+
+        //then
+        Assertions.assertEquals("news", stale);
+        Assertions.assertEquals("news", staleAgain);
+        Assertions.assertEquals("news1", refreshed);
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void checkGetShouldKeepEntryAliveWhenItIsRefreshedBeforeHardExpiry() {
+        //given
+        time.addAndGet(Duration.ofMinutes(6).toNanos());
+        cache.get(1L, () -> "news" + loads.incrementAndGet());
+        reloads.forEach(Runnable::run);
+
+        //when
+        time.addAndGet(Duration.ofMinutes(6).toNanos());
+        Object actual = cache.get(1L);
+
+        //then
+        Assertions.assertEquals("news1", actual);
+    }
+
+    @Test
+    void checkGetShouldReturnNullAfterHardExpiry() {
+        //given
+        time.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        //when
+        Object actual = cache.get(1L, () -> "news" + loads.incrementAndGet());
+
+        //then
+        Assertions.assertNull(actual);
+        Assertions.assertTrue(reloads.isEmpty());
+    }
+
+    @Test
+    void checkReloadShouldBeDiscardedWhenEntryIsWrittenMeanwhile() {
+        //given
+        time.addAndGet(Duration.ofMinutes(6).toNanos());
+        cache.get(1L, () -> "loaded before update");
+
+        //when
+        cache.set(1L, "updated");
+        reloads.forEach(Runnable::run);
+
+        //then
+        Assertions.assertEquals("updated", cache.get(1L));
+    }
+
+    @Test
+    void checkFailedReloadShouldKeepStaleEntryAndBeRetried() {
+        //given
+        time.addAndGet(Duration.ofMinutes(6).toNanos());
+        cache.get(1L, () -> {
+            throw new IllegalStateException("Database is unavailable");
+        });
+        reloads.poll().run();
+
+        //when
+        Object stale = cache.get(1L, () -> "news" + loads.incrementAndGet());
+        reloads.poll().run();
+
+        //then
+        Assertions.assertEquals("news", stale);
+        Assertions.assertEquals("news1", cache.get(1L));
+        Assertions.assertEquals(List.of("news1"), cache.getAll());
+    }
+}
@@ -0,0 +1,118 @@
+package ru.clevertec.news.cache.region;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.impl.LRUCache;
+import ru.clevertec.news.cache.impl.TieredCache;
+import ru.clevertec.news.cache.offheap.OffHeapStore;
+import ru.clevertec.news.cache.serializer.JdkValueSerializer;
+import ru.clevertec.news.cache.stats.CacheStats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class CacheRegionsTest {
+
+    private MeterRegistry meterRegistry;
+    private CacheRegions regions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        regions = new CacheRegions(name -> new LRUCache("news".equals(name) ? 2 : 1), meterRegistry);
+    }
+
+    @Test
+    void checkRegionsShouldNotShareEntitiesWithSameId() {
+        //given
+        regions.region("news").set(5L, "news5");
+        regions.region("comments").set(5L, "comment5");
+
+        //when
+        Object news = regions.region("news").get(5L);
+        Object comment = regions.region("comments").get(5L);
+
+        //then
+        Assertions.assertEquals("news5", news);
+        Assertions.assertEquals("comment5", comment);
+    }
+
+    @Test
+    void checkRegionsShouldEvictIndependently() {
+        //given
+        regions.region("news").set(1L, "news1");
+
+        //when
+        regions.region("comments").set(1L, "comment1");
+        regions.region("comments").set(2L, "comment2");
+
+        //then
+        Assertions.assertEquals("news1", regions.region("news").get(1L));
+        Assertions.assertNull(regions.region("comments").get(1L));
+    }
+
+    @Test
+    void checkRegionShouldPublishHitsAndMisses() {
+        //given
+        RegionCache news = regions.region("news");
+        news.set(1L, "news1");
+
+        //when
+        news.get(1L);
+        news.get(1L);
+        news.get(2L);
+
+        //then
+        Assertions.assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "news").tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "news").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void checkRegionShouldPublishEvictionsAndLoads() throws Throwable {
+        //given
+        RegionCache news = regions.region("news");
+        List<Long> evicted = new ArrayList<>();
+        news.setEvictionListener((key, value) -> evicted.add(key));
+
+        //when
+        for (long id = 1; id <= 3; id++) {
+            long key = id;
+            news.set(key, news.timed(() -> "news" + key).load());
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> news.timed(() -> {
+            throw new IllegalStateException();
+        }).load());
+
+        //then
+        CacheStats stats = news.stats();
+        Assertions.assertEquals(List.of(1L), evicted);
+        Assertions.assertEquals(1, stats.evictionCount());
+        Assertions.assertEquals(3, stats.loadSuccessCount());
+        Assertions.assertEquals(1, stats.loadFailureCount());
+        Assertions.assertEquals(1, meterRegistry.get("cache.evictions").tag("cache", "news").functionCounter().count());
+        Assertions.assertEquals(1, meterRegistry.get("cache.load").tag("cache", "news").tag("result", "failure").functionCounter().count());
+        Assertions.assertEquals(4, meterRegistry.get("cache.load.duration").tag("cache", "news").functionTimer().count());
+    }
+
+    @Test
+    void checkTieredRegionShouldPublishHitsOfEveryTier() {
+        //given
+        CacheRegions tieredRegions = new CacheRegions(name -> new TieredCache(new LRUCache(1),
+                new OffHeapStore(1 << 20, 1 << 16, new JdkValueSerializer())), meterRegistry);
+        RegionCache news = tieredRegions.region("news");
+        news.set(1L, "news1");
+        news.set(2L, "news2");
+
+        //when
+        news.get(2L);
+        news.get(1L);
+
+        //then
+        Assertions.assertEquals(1, meterRegistry.get("cache.tier.gets").tag("cache", "news").tag("tier", "heap").functionCounter().count());
+        Assertions.assertEquals(1, meterRegistry.get("cache.tier.gets").tag("cache", "news").tag("tier", "off-heap").functionCounter().count());
+        Assertions.assertEquals(2, news.stats().hitCount());
+    }
+}
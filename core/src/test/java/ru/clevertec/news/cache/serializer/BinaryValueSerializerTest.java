@@ -0,0 +1,153 @@
+package ru.clevertec.news.cache.serializer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import ru.clevertec.news.cache.refresh.StampedValue;
+import ru.clevertec.news.dto.CommentDto;
+import ru.clevertec.news.dto.CommentListDto;
+import ru.clevertec.news.dto.NewsDto;
+import ru.clevertec.news.dto.NewsListDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+class BinaryValueSerializerTest {
+
+    private static final LocalDateTime CREATE_DATE = LocalDateTime.of(2023, 4, 26, 11, 30, 7, 319_000_000);
+
+    private final BinaryValueSerializer serializer = new BinaryValueSerializer();
+
+    @Test
+    void checkSerializeShouldRestoreNews() {
+        //given
+        NewsDto news = new NewsDto(3L, "Cool title", "Long and interesting content", "dobrowydka", CREATE_DATE);
+
+        //when
+        Object restored = serializer.deserialize(serializer.serialize(news));
+
+        //then
+        Assertions.assertEquals(news, restored);
+    }
+
+    @Test
+    void checkSerializeShouldRestoreCommentWithNews() {
+        //given
+        NewsListDto news = new NewsListDto(3L, "Cool title", "dobrowydka", CREATE_DATE);
+        CommentDto comment = new CommentDto(7L, "Amazing! Удивительно!", "reader", CREATE_DATE.plusDays(1), news);
+
+        //when
+        Object restored = serializer.deserialize(serializer.serialize(comment));
+
+        //then
+        Assertions.assertEquals(comment, restored);
+    }
+
+    @Test
+    void checkSerializeShouldRestoreNullFields() {
+        //given
+        CommentDto comment = new CommentDto(7L, null, "reader", null, null);
+
+        //when
+        Object restored = serializer.deserialize(serializer.serialize(comment));
+
+        //then
+        Assertions.assertEquals(comment, restored);
+    }
+
+    @Test
+    void checkSerializeShouldRestoreListsAndNullValue() {
+        //given
+        List<Object> list = List.of(
+                new NewsListDto(1L, "first", "user", CREATE_DATE),
+                new CommentListDto(2L, "second", "user", CREATE_DATE),
+                NullValue.INSTANCE
+        );
+
+        //when
+        Object restored = serializer.deserialize(serializer.serialize(list));
+
+        //then
+        Assertions.assertEquals(list, restored);
+    }
+
+    @Test
+    void checkSerializeShouldRestoreStampedValue() {
+        //given
+        StampedValue stamped = new StampedValue(new CommentListDto(7L, "Amazing!", "reader", CREATE_DATE),
+                1_682_508_607_319_000_000L);
+
+        //when
+        Object restored = serializer.deserialize(serializer.serialize(stamped));
+
+        //then
+        Assertions.assertEquals(stamped, restored);
+    }
+
+    @Test
+    void checkSerializeShouldFallBackToJdkSerializationForUnknownValue() {
+        //given
+        Map<String, Long> value = Map.of("views", 5L);
+
+        //when
+        Object restored = serializer.deserialize(serializer.serialize(value));
+
+        //then
+        Assertions.assertEquals(value, restored);
+    }
+
+    @Test
+    void checkSerializeShouldBeMuchSmallerThanJdkSerialization() {
+        //given
+        NewsDto news = new NewsDto(3L, "Cool title", "Long and interesting content", "dobrowydka", CREATE_DATE);
+
+        //when
+        int binaryLength = serializer.serialize(news).length;
+        int jdkLength = new JdkValueSerializer().serialize(news).length;
+
+        //then
+        Assertions.assertTrue(binaryLength * 4 < jdkLength, binaryLength + " vs " + jdkLength);
+    }
+
+    @Test
+    void checkSerializeShouldCompressLargePayload() {
+        //given
+        NewsDto news = new NewsDto(3L, "Cool title", "Long and interesting content. ".repeat(100), "dobrowydka", CREATE_DATE);
+
+        //when
+        byte[] compressed = serializer.serialize(news);
+        byte[] raw = new BinaryValueSerializer(Integer.MAX_VALUE).serialize(news);
+
+        //then
+        Assertions.assertTrue(compressed.length < raw.length / 4, compressed.length + " vs " + raw.length);
+        Assertions.assertEquals(news, serializer.deserialize(compressed));
+    }
+
+    @Test
+    void checkDeserializeShouldReadJdkSerializedValue() {
+        //given
+        NewsDto news = new NewsDto(3L, "Cool title", "Long and interesting content", "dobrowydka", CREATE_DATE);
+        byte[] jdkBytes = new JdkValueSerializer().serialize(news);
+
+        //when
+        Object restored = serializer.deserialize(jdkBytes);
+
+        //then
+        Assertions.assertEquals(news, restored);
+    }
+
+    @Test
+    void checkDeserializeShouldReturnNullForValueOfAnotherSchemaVersion() {
+        //given
+        NewsDto news = new NewsDto(3L, "Cool title", "Long and interesting content", "dobrowydka", CREATE_DATE);
+        byte[] bytes = serializer.serialize(news);
+        bytes[0] = (byte) (bytes[0] & 0x0F);
+
+        //when
+        Object restored = serializer.deserialize(bytes);
+
+        //then
+        Assertions.assertNull(restored);
+    }
+}
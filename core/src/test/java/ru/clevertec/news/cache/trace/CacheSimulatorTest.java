@@ -0,0 +1,30 @@
+package ru.clevertec.news.cache.trace;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.factory.CacheFactory;
+
+import java.util.List;
+
+class CacheSimulatorTest {
+
+    private final CacheSimulator simulator = new CacheSimulator(new CacheFactory());
+
+    @Test
+    void checkSimulateShouldReplayTraceAgainstEveryAlgorithmAndSize() {
+        //given
+        long[] keys = {1L, 2L, 1L, 3L, 1L, 2L};
+
+        //when
+        List<CacheSimulator.Result> results = simulator.simulate(keys, 1, 3);
+
+        //then
+        Assertions.assertEquals(2 * CacheFactory.ALGORITHMS.size(), results.size());
+        results.stream()
+                .filter(result -> result.size() == 3)
+                .forEach(result -> Assertions.assertEquals(0.5, result.hitRatio(), result.algorithm()));
+        CacheSimulator.Result lru = simulator.simulate(keys, "LRU", 1);
+        Assertions.assertEquals(0, lru.hits());
+        Assertions.assertEquals(6, lru.requests());
+    }
+}
@@ -0,0 +1,50 @@
+package ru.clevertec.news.cache.trace;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+class RingFileTraceRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void checkReadShouldReturnRecordedKeysByRegionInAccessOrder() throws IOException {
+        //given
+        Path file = directory.resolve("access.trace");
+        RingFileTraceRecorder recorder = new RingFileTraceRecorder(file, 16);
+        recorder.record("news", 3L);
+        recorder.record("comments", 3L);
+        recorder.record("news", 1L);
+        recorder.record("news", 3L);
+
+        //when
+        recorder.close();
+        AccessTrace trace = AccessTrace.read(file);
+
+        //then
+        Assertions.assertArrayEquals(new long[]{3L, 1L, 3L}, trace.keys().get("news"));
+        Assertions.assertArrayEquals(new long[]{3L}, trace.keys().get("comments"));
+    }
+
+    @Test
+    void checkRecordShouldKeepOnlyLastAccessesWhenRingIsFull() throws IOException {
+        //given
+        Path file = directory.resolve("access.trace");
+        RingFileTraceRecorder recorder = new RingFileTraceRecorder(file, 4);
+
+        //when
+        for (long key = 1; key <= 6; key++) {
+            recorder.record("news", key);
+        }
+        recorder.close();
+        AccessTrace trace = AccessTrace.read(file);
+
+        //then
+        Assertions.assertArrayEquals(new long[]{3L, 4L, 5L, 6L}, trace.keys().get("news"));
+    }
+}
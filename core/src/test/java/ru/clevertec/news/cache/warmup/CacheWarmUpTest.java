@@ -0,0 +1,143 @@
+package ru.clevertec.news.cache.warmup;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import ru.clevertec.news.cache.HotKey;
+import ru.clevertec.news.cache.impl.LFUCache;
+import ru.clevertec.news.dto.NewsDto;
+import ru.clevertec.news.entity.News;
+import ru.clevertec.news.mapper.CommentMapper;
+import ru.clevertec.news.mapper.NewsMapper;
+import ru.clevertec.news.repository.CommentRepository;
+import ru.clevertec.news.repository.NewsRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmUpTest {
+
+    @Mock
+    private NewsRepository newsRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private final NewsMapper newsMapper = Mappers.getMapper(NewsMapper.class);
+    private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+    private final Map<Long, Object> cache = new LinkedHashMap<>();
+    private final AtomicLong ticker = new AtomicLong();
+    private WarmUpProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WarmUpProperties();
+        properties.setSize(5);
+        properties.setBatchSize(2);
+        properties.setTimeBudget(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void checkWarmUpShouldLoadHotKeysFirstAndThenMostRecentNewsAndRestoreThemFromColdest() {
+        //given
+        when(newsRepository.findAllById(anyList())).thenAnswer(invocation ->
+                news(((List<Long>) invocation.getArgument(0)).stream().mapToLong(Long::longValue)));
+        when(newsRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            long first = 20 - pageable.getOffset();
+            return new PageImpl<>(news(LongStream.of(first, first - 1)));
+        });
+
+        //when
+        int loaded = warmUp(region -> hotKeys(3L, 7L, 19L)).warmUp();
+
+        //then
+        Assertions.assertEquals(5, loaded);
+        Assertions.assertEquals(List.of(18L, 20L, 19L, 7L, 3L), new ArrayList<>(cache.keySet()));
+        Assertions.assertEquals("title3", ((NewsDto) cache.get(3L)).getTitle());
+        verify(newsRepository, times(2)).findAllById(anyList());
+        verify(newsRepository, times(2)).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void checkWarmUpShouldStopWhenTimeBudgetRunsOut() {
+        //given
+        when(newsRepository.findAllById(anyList())).thenAnswer(invocation -> {
+            ticker.addAndGet(Duration.ofMillis(600).toNanos());
+            return news(((List<Long>) invocation.getArgument(0)).stream().mapToLong(Long::longValue));
+        });
+
+        //when
+        int loaded = warmUp(region -> hotKeys(1L, 2L, 3L, 4L, 5L)).warmUp();
+
+        //then
+        Assertions.assertEquals(4, loaded);
+        verify(newsRepository, times(2)).findAllById(anyList());
+        verify(newsRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void checkWarmUpShouldStopWhenNoMoreNews() {
+        //given
+        when(newsRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(news(LongStream.of(2))));
+
+        //when
+        int loaded = warmUp(HotKeys.NONE).warmUp();
+
+        //then
+        Assertions.assertEquals(1, loaded);
+        verify(newsRepository, times(1)).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void checkWarmUpShouldRestoreUseCountsOfHotKeys() {
+        //given
+        LFUCache lfuCache = new LFUCache(2);
+        when(newsRepository.findAllById(anyList())).thenReturn(news(LongStream.of(1, 2)));
+        when(newsRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        CacheWarmUp warmUp = new CacheWarmUp(newsRepository, commentRepository, newsMapper, commentMapper, properties,
+                region -> List.of(new HotKey(2L, 5), new HotKey(1L, 1)), ticker::get)
+                .news(WarmUpTarget.of(lfuCache));
+
+        //when
+        warmUp.warmUp();
+
+        //then
+        Assertions.assertEquals(List.of(new HotKey(2L, 5), new HotKey(1L, 1)), lfuCache.hotKeys());
+    }
+
+    private CacheWarmUp warmUp(HotKeys hotKeys) {
+        return new CacheWarmUp(newsRepository, commentRepository, newsMapper, commentMapper, properties,
+                hotKeys, ticker::get)
+                .news(cache::put);
+    }
+
+    private static List<HotKey> hotKeys(long... keys) {
+        return LongStream.of(keys).mapToObj(key -> new HotKey(key, 0)).toList();
+    }
+
+    private static List<News> news(LongStream ids) {
+        return ids.mapToObj(id -> new News(id, "title" + id, "text" + id, "username",
+                LocalDateTime.parse("2023-04-02T17:26:07.319"), new ArrayList<>())).toList();
+    }
+}
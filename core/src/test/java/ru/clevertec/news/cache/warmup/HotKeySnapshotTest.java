@@ -0,0 +1,58 @@
+package ru.clevertec.news.cache.warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.clevertec.news.cache.HotKey;
+import ru.clevertec.news.cache.impl.LFUCache;
+import ru.clevertec.news.cache.region.CacheRegions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+class HotKeySnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void checkKeysShouldReturnHotKeysWrittenBeforeRestart() throws Exception {
+        //given
+        Path file = directory.resolve("hot-keys.snapshot");
+        CacheRegions regions = new CacheRegions(name -> new LFUCache(10), new SimpleMeterRegistry());
+        regions.region("news").set(1L, "news1");
+        regions.region("news").set(2L, "news2");
+        regions.region("news").get(2L);
+        regions.region("comments").set(7L, "comment7");
+        HotKeySnapshot snapshot = new HotKeySnapshot(file, regions, Duration.ofHours(1));
+        snapshot.close();
+
+        //when
+        HotKeySnapshot restarted = new HotKeySnapshot(file,
+                new CacheRegions(name -> new LFUCache(10), new SimpleMeterRegistry()), Duration.ofHours(1));
+
+        //then
+        Assertions.assertEquals(regions.region("news").hotKeys(), restarted.keys("news"));
+        Assertions.assertEquals(List.of(2L, 1L), restarted.keys("news").stream().map(HotKey::key).toList());
+        Assertions.assertEquals(regions.region("comments").hotKeys(), restarted.keys("comments"));
+        Assertions.assertEquals(List.of(), restarted.keys("pages"));
+    }
+
+    @Test
+    void checkKeysShouldBeEmptyWhenSnapshotIsCorrupted() throws IOException {
+        //given
+        Path file = directory.resolve("hot-keys.snapshot");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        //when
+        HotKeySnapshot snapshot = new HotKeySnapshot(file,
+                new CacheRegions(name -> new LFUCache(10), new SimpleMeterRegistry()), Duration.ofHours(1));
+
+        //then
+        Assertions.assertEquals(List.of(), snapshot.keys("news"));
+    }
+}
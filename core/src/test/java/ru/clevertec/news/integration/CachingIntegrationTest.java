@@ -0,0 +1,172 @@
+package ru.clevertec.news.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.clevertec.news.dto.CommentUpdateDto;
+import ru.clevertec.news.dto.NewsUpdateDto;
+import ru.clevertec.news.util.WithAuthority;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the number of SQL statements executed per request with the custom cache of the dev profile
+ */
+@ActiveProfiles("dev")
+@TestPropertySource(properties = {
+        "spring.datasource.username=test",
+        "spring.datasource.password=test",
+        "spring.liquibase.change-log=classpath:databases/news-test/changelog.xml",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class CachingIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByIdTest_shouldNotQueryDatabaseForCachedNews() throws Exception {
+        //given
+        mockMvc.perform(MockMvcRequestBuilders.get("/news/13"))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        //when
+        mockMvc.perform(MockMvcRequestBuilders.get("/news/13"))
+                .andExpect(jsonPath("$.id").value(13L))
+                .andExpect(status().isOk());
+
+        //then
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByIdTest_shouldNotQueryDatabaseForRecentlyNotFoundNews() throws Exception {
+        //given
+        mockMvc.perform(MockMvcRequestBuilders.get("/news/999"))
+                .andExpect(status().isNotFound());
+        statistics.clear();
+
+        //when
+        mockMvc.perform(MockMvcRequestBuilders.get("/news/999"))
+                .andExpect(status().isNotFound());
+
+        //then
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @WithAuthority(authorities = "WRITE_NEWS")
+    void updateTest_shouldExecuteSelectAndUpdateOnceAndCacheResult() throws Exception {
+        //given
+        NewsUpdateDto newsUpdateDto = new NewsUpdateDto(12L, "cached title", "cached text");
+
+        //when
+        mockMvc.perform(MockMvcRequestBuilders.put("/news")
+                        .content(mapper.writeValueAsString(newsUpdateDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        long updateStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/news/12"))
+                .andExpect(jsonPath("$.title").value("cached title"))
+                .andExpect(status().isOk());
+
+        //then
+        Assertions.assertEquals(2, updateStatements);
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @WithAuthority(authorities = "DELETE_COMMENTS")
+    void deleteTest_shouldExecuteSelectAndDeleteOnceAndEvictComment() throws Exception {
+        //given
+        mockMvc.perform(MockMvcRequestBuilders.get("/comments/7"))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        //when
+        mockMvc.perform(MockMvcRequestBuilders.delete("/comments/7"))
+                .andExpect(status().isOk());
+        long deleteStatements = statistics.getPrepareStatementCount();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/comments/7"))
+                .andExpect(status().isNotFound());
+
+        //then
+        Assertions.assertEquals(2, deleteStatements);
+    }
+
+    @Test
+    @WithAuthority(authorities = "WRITE_NEWS")
+    void findAllTest_shouldEvictOnlyPagesOfUpdatedNews() throws Exception {
+        //given
+        mockMvc.perform(MockMvcRequestBuilders.get("/news?partOfTitle=crypto&page=0&size=5"))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/news?partOfTitle=AI&page=0&size=5"))
+                .andExpect(status().isOk());
+        NewsUpdateDto newsUpdateDto = new NewsUpdateDto(17L, null, "updated text about crypto");
+
+        //when
+        mockMvc.perform(MockMvcRequestBuilders.put("/news")
+                        .content(mapper.writeValueAsString(newsUpdateDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get("/news?partOfTitle=AI&page=0&size=5"))
+                .andExpect(status().isOk());
+        long cachedPageStatements = statistics.getPrepareStatementCount();
+        mockMvc.perform(MockMvcRequestBuilders.get("/news?partOfTitle=crypto&page=0&size=5"))
+                .andExpect(status().isOk());
+
+        //then
+        Assertions.assertEquals(0, cachedPageStatements);
+        Assertions.assertNotEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @WithAuthority(authorities = "WRITE_COMMENTS")
+    void findAllByNewsIdTest_shouldEvictOnlyCommentPagesOfUpdatedCommentNews() throws Exception {
+        //given
+        mockMvc.perform(MockMvcRequestBuilders.get("/news/1/comments"))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/news/2/comments"))
+                .andExpect(status().isOk());
+        CommentUpdateDto commentUpdateDto = new CommentUpdateDto(4L, "updated comment");
+
+        //when
+        mockMvc.perform(MockMvcRequestBuilders.put("/comments")
+                        .content(mapper.writeValueAsString(commentUpdateDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get("/news/2/comments"))
+                .andExpect(status().isOk());
+        long cachedPageStatements = statistics.getPrepareStatementCount();
+        mockMvc.perform(MockMvcRequestBuilders.get("/news/1/comments"))
+                .andExpect(jsonPath("$[?(@.id == 4)].text").value("updated comment"))
+                .andExpect(status().isOk());
+
+        //then
+        Assertions.assertEquals(0, cachedPageStatements);
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,205 @@
+package ru.clevertec.news.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.clevertec.logging.aspect.LoggingAspect;
+import ru.clevertec.news.aspect.CachingAspect;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.EntityEviction;
+import ru.clevertec.news.cache.filter.ExistenceFilters;
+import ru.clevertec.news.cache.impl.LRUCache;
+import ru.clevertec.news.cache.impl.SynchronizedCache;
+import ru.clevertec.news.cache.impl.TinyLFUCache;
+import ru.clevertec.news.cache.near.InvalidationPublisher;
+import ru.clevertec.news.cache.near.NearCacheManager;
+import ru.clevertec.news.cache.page.PageCache;
+import ru.clevertec.news.cache.refresh.RefreshAheadCache;
+import ru.clevertec.news.cache.refresh.Refresher;
+import ru.clevertec.news.cache.region.CacheRegions;
+import ru.clevertec.news.cache.trace.TraceRecorder;
+import ru.clevertec.news.entity.Comment;
+import ru.clevertec.news.entity.News;
+import ru.clevertec.news.mapper.CommentMapper;
+import ru.clevertec.news.mapper.NewsMapper;
+import ru.clevertec.news.repository.CommentRepository;
+import ru.clevertec.news.repository.NewsRepository;
+import ru.clevertec.news.service.CommentService;
+import ru.clevertec.news.service.NewsService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives stale entries through the real advice chain of the service proxies, the reloads run on another thread
+ * like the ones of the refresher, so the advice of the logging starter has no invocation of the request there
+ */
+class RefreshAheadIntegrationTest {
+
+    private static final LocalDateTime CREATE_DATE = LocalDateTime.of(2023, 5, 1, 0, 0, 0);
+    private static final AtomicLong TIME = new AtomicLong();
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    @AfterAll
+    static void shutdown() {
+        REFRESH_EXECUTOR.shutdownNow();
+    }
+
+    @Nested
+    @SpringJUnitConfig(CacheRegionsConfig.class)
+    class CacheRegionsRefresh {
+
+        @MockBean
+        private NewsRepository newsRepository;
+
+        @MockBean
+        private CommentRepository commentRepository;
+
+        @Autowired
+        private NewsService newsService;
+
+        @Test
+        void findByIdTest_shouldReplaceStaleNewsByReloadedOne() throws Exception {
+            //given
+            when(newsRepository.findById(1L)).thenReturn(Optional.of(news("title")));
+            newsService.findById(1L);
+            when(newsRepository.findById(1L)).thenReturn(Optional.of(news("reloaded title")));
+            TIME.addAndGet(Duration.ofMinutes(6).toNanos());
+
+            //when
+            String stale = newsService.findById(1L).getTitle();
+            REFRESH_EXECUTOR.submit(() -> null).get();
+            String refreshed = newsService.findById(1L).getTitle();
+
+            //then
+            Assertions.assertEquals("title", stale);
+            Assertions.assertEquals("reloaded title", refreshed);
+            Mockito.verify(newsRepository, Mockito.times(2)).findById(1L);
+        }
+    }
+
+    @Nested
+    @SpringJUnitConfig(NearCacheConfig.class)
+    class NearCacheRefresh {
+
+        @MockBean
+        private CommentRepository commentRepository;
+
+        @Autowired
+        private CommentService commentService;
+
+        @Autowired
+        private NearCacheManager cacheManager;
+
+        @Test
+        void findByIdTest_shouldReplaceStaleCommentByReloadedOne() throws Exception {
+            //given
+            when(commentRepository.findById(1L)).thenReturn(Optional.of(comment("text")));
+            commentService.findById(1L);
+            when(commentRepository.findById(1L)).thenReturn(Optional.of(comment("reloaded text")));
+            cacheManager.invalidateLocal("Comments", 1L);
+            TIME.addAndGet(Duration.ofMinutes(6).toNanos());
+
+            //when
+            String stale = commentService.findById(1L).getText();
+            REFRESH_EXECUTOR.submit(() -> null).get();
+            String refreshed = commentService.findById(1L).getText();
+
+            //then
+            Assertions.assertEquals("text", stale);
+            Assertions.assertEquals("reloaded text", refreshed);
+            Mockito.verify(commentRepository, Mockito.times(2)).findById(1L);
+        }
+    }
+
+    private static News news(String title) {
+        return new News(1L, title, "text", "username", CREATE_DATE, new ArrayList<>());
+    }
+
+    private static Comment comment(String text) {
+        return new Comment(1L, text, "username", CREATE_DATE, null);
+    }
+
+    /**
+     * Custom cache of the dev profile
+     */
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class CacheRegionsConfig {
+
+        @Bean
+        public CacheRegions cacheRegions() {
+            CachePolicy policy = CachePolicy.builder()
+                    .expireAfterWrite(Duration.ofMinutes(10))
+                    .ticker(TIME::get)
+                    .build();
+            return new CacheRegions(name -> new RefreshAheadCache(new SynchronizedCache(new LRUCache(16, policy)),
+                    new Refresher(Duration.ofMinutes(5), TIME::get, REFRESH_EXECUTOR)), null);
+        }
+
+        @Bean
+        public CachingAspect cachingAspect(CacheRegions cacheRegions, ObjectProvider<TraceRecorder> traceRecorder) {
+            return new CachingAspect(cacheRegions, traceRecorder);
+        }
+
+        @Bean
+        public LoggingAspect loggingAspect() {
+            return new LoggingAspect();
+        }
+
+        @Bean
+        public NewsService newsService(NewsRepository newsRepository, CommentRepository commentRepository,
+                                       ObjectProvider<EntityEviction> commentEviction) {
+            return new NewsService(newsRepository, commentRepository, Mappers.getMapper(NewsMapper.class),
+                    PageCache.disabled(), ExistenceFilters.disabled(), commentEviction);
+        }
+    }
+
+    /**
+     * Spring cache of the prod profile, the shared cache stands for Redis
+     */
+    @Configuration
+    @EnableCaching
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class NearCacheConfig {
+
+        @Bean
+        public NearCacheManager cacheManager(ObjectProvider<CommentService> commentService) {
+            return new NearCacheManager(new ConcurrentMapCacheManager(), () -> new TinyLFUCache(16),
+                    InvalidationPublisher.NONE,
+                    () -> new Refresher(Duration.ofMinutes(5), TIME::get, REFRESH_EXECUTOR),
+                    Map.of("Comments", id -> commentService.getObject().findById((Long) id)));
+        }
+
+        @Bean
+        public LoggingAspect loggingAspect() {
+            return new LoggingAspect();
+        }
+
+        @Bean
+        public CommentService commentService(CommentRepository commentRepository) {
+            return new CommentService(commentRepository, Mappers.getMapper(CommentMapper.class),
+                    PageCache.disabled(), ExistenceFilters.disabled());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.clevertec.news.security.principal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.cache.CachePolicy;
+import ru.clevertec.news.cache.impl.TinyLFUCache;
+import ru.clevertec.news.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CachingPrincipalResolverTest {
+
+    private final AtomicLong millis = new AtomicLong(1_000_000);
+    private final AtomicInteger resolutions = new AtomicInteger();
+    private final CachingPrincipalResolver resolver = new CachingPrincipalResolver(
+            header -> new UserDto("over228-" + resolutions.incrementAndGet(), List.of()),
+            new TinyLFUCache(16, CachePolicy.builder()
+                    .ticker(() -> Duration.ofMillis(millis.get()).toNanos())
+                    .build()),
+            Duration.ofMinutes(5),
+            millis::get);
+
+    @Test
+    void checkResolveShouldResolveSameTokenOnce() {
+        //given
+        String header = header(Duration.ofHours(1));
+        resolver.resolve(header);
+
+        //when
+        UserDto actual = resolver.resolve(header);
+
+        //then
+        Assertions.assertEquals("over228-1", actual.getUsername());
+        Assertions.assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    void checkResolveShouldNotServePrincipalAfterTokenExpiration() {
+        //given
+        String header = header(Duration.ofSeconds(30));
+        resolver.resolve(header);
+
+        //when
+        millis.addAndGet(Duration.ofSeconds(31).toMillis());
+        resolver.resolve(header);
+
+        //then
+        Assertions.assertEquals(2, resolutions.get());
+    }
+
+    @Test
+    void checkRevokeShouldDropCachedPrincipalsOfUser() {
+        //given
+        String header = header(Duration.ofHours(1));
+        resolver.resolve(header);
+        millis.incrementAndGet();
+
+        //when
+        resolver.revoke("over228-1");
+        resolver.resolve(header);
+        millis.incrementAndGet();
+        resolver.resolve(header);
+
+        //then
+        Assertions.assertEquals(2, resolutions.get());
+    }
+
+    private String header(Duration timeToLive) {
+        long expiration = (millis.get() + timeToLive.toMillis()) / 1000;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = encoder.encodeToString(("{\"sub\":\"over228\",\"exp\":" + expiration + "}").getBytes(StandardCharsets.UTF_8));
+        return "Bearer " + encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "." + payload + ".signature";
+    }
+}
@@ -0,0 +1,69 @@
+package ru.clevertec.news.security.principal;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.clevertec.handling.exception.LoginException;
+import ru.clevertec.news.dto.AuthorityDto;
+import ru.clevertec.news.dto.UserDto;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class JwtPrincipalResolverTest {
+
+    private static final String SECRET_KEY = "secretKeysecretKeysecretKeysecretKeysecretKeysecretKeysecretKey";
+    private static final UserDto REMOTE_USER = new UserDto("remote", List.of());
+
+    private final JwtPrincipalResolver resolver = new JwtPrincipalResolver(SECRET_KEY, "clevertec", header -> REMOTE_USER);
+
+    @Test
+    void checkResolveShouldReturnUserWithAuthoritiesOfTokenClaims() {
+        //given
+        String token = token("clevertec", Map.of("authorities", List.of("WRITE_NEWS", "DELETE_NEWS")));
+        UserDto expected = new UserDto("over228", List.of(new AuthorityDto("WRITE_NEWS"), new AuthorityDto("DELETE_NEWS")));
+
+        //when
+        UserDto actual = resolver.resolve("Bearer " + token);
+
+        //then
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    void checkResolveShouldThrowLoginExceptionForTokenOfOtherIssuer() {
+        //given
+        String token = token("other", Map.of("authorities", List.of("WRITE_NEWS")));
+
+        //when, then
+        Assertions.assertThrows(LoginException.class, () -> resolver.resolve("Bearer " + token));
+    }
+
+    @Test
+    void checkResolveShouldUseFallbackForTokenWithoutAuthorities() {
+        //given
+        String token = token("clevertec", Map.of());
+
+        //when
+        UserDto actual = resolver.resolve("Bearer " + token);
+
+        //then
+        Assertions.assertSame(REMOTE_USER, actual);
+    }
+
+    private static String token(String issuer, Map<String, Object> claims) {
+        return Jwts.builder()
+                .setClaims(new HashMap<>(claims))
+                .setIssuer(issuer)
+                .setSubject("over228")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,69 @@
+package ru.clevertec.news.security.principal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import ru.clevertec.news.dto.AuthorityDto;
+import ru.clevertec.news.dto.NewsDto;
+import ru.clevertec.news.dto.UserDto;
+import ru.clevertec.news.security.JwtAuthenticationFilter;
+import ru.clevertec.news.security.UsernameValidationFilter;
+import ru.clevertec.news.service.CommentService;
+import ru.clevertec.news.service.NewsService;
+
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResolvedPrincipalsTest {
+
+    private static final String HEADER = "Bearer token";
+
+    @Mock
+    private PrincipalResolver principalResolver;
+    @Mock
+    private NewsService newsService;
+    @Mock
+    private CommentService commentService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void checkFiltersShouldResolvePrincipalOncePerRequest() throws Exception {
+        //given
+        ResolvedPrincipals resolvedPrincipals = new ResolvedPrincipals(principalResolver);
+        MockFilterChain filterChain = new MockFilterChain(new HttpServlet() {
+        }, new UsernameValidationFilter(resolvedPrincipals, newsService, commentService, new ObjectMapper()),
+                new JwtAuthenticationFilter(resolvedPrincipals));
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/news/5");
+        request.addHeader("Authorization", HEADER);
+        NewsDto news = new NewsDto();
+        news.setUsername("over228");
+        when(principalResolver.resolve(HEADER))
+                .thenReturn(new UserDto("over228", List.of(new AuthorityDto("WRITE_NEWS"), new AuthorityDto("DELETE_NEWS"))));
+        when(newsService.findById(5L))
+                .thenReturn(news);
+
+        //when
+        filterChain.doFilter(request, new MockHttpServletResponse());
+
+        //then
+        verify(principalResolver, times(1)).resolve(HEADER);
+        Assertions.assertEquals("over228", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+}
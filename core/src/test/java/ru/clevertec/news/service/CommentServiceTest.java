@@ -12,6 +12,8 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import ru.clevertec.handling.exception.ServiceException;
+import ru.clevertec.news.cache.filter.ExistenceFilters;
+import ru.clevertec.news.cache.page.PageCache;
 import ru.clevertec.news.dto.*;
 import ru.clevertec.news.dto.filter.CommentRequestFilter;
 import ru.clevertec.news.entity.Comment;
@@ -36,6 +38,12 @@ class CommentServiceTest {
     @Spy
     private CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
 
+    @Spy
+    private PageCache pageCache = PageCache.disabled();
+
+    @Spy
+    private ExistenceFilters existenceFilters = ExistenceFilters.disabled();
+
     @InjectMocks
     private CommentService commentService;
 
@@ -207,7 +215,20 @@ class CommentServiceTest {
 
         //then
         Mockito.verify(commentRepository, Mockito.times(1))
-                .deleteById(Mockito.any());
+                .deleteByIdReturningCount(Mockito.any());
         Assertions.assertTrue(actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteTest_shouldNotRemoveIdFromExistenceFilterWhenCommentWasDeletedConcurrently() {
+        //given
+        Long id = 3L;
+        when(commentRepository.deleteByIdReturningCount(id)).thenReturn(0);
+
+        //when
+        commentService.delete(id);
+
+        //then
+        Mockito.verify(existenceFilters, Mockito.never()).remove(Mockito.anyString(), Mockito.anyLong());
+    }
+}
@@ -10,8 +10,12 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.*;
 import ru.clevertec.handling.exception.ServiceException;
+import ru.clevertec.news.cache.EntityEviction;
+import ru.clevertec.news.cache.filter.ExistenceFilters;
+import ru.clevertec.news.cache.page.PageCache;
 import ru.clevertec.news.dto.NewsDto;
 import ru.clevertec.news.dto.NewsListDto;
 import ru.clevertec.news.dto.NewsSaveDto;
@@ -42,6 +46,15 @@ class NewsServiceTest {
     @Spy
     private NewsMapper newsMapper = Mappers.getMapper(NewsMapper.class);
 
+    @Spy
+    private PageCache pageCache = PageCache.disabled();
+
+    @Spy
+    private ExistenceFilters existenceFilters = ExistenceFilters.disabled();
+
+    @Mock
+    private ObjectProvider<EntityEviction> commentEviction;
+
     @InjectMocks
     private NewsService newsService;
 
@@ -178,6 +191,7 @@ class NewsServiceTest {
     void deleteTest_shouldReturnTrueInCaseOfSuccessfulDelete() {
         //given
         Long id = 3L;
+        when(commentEviction.getIfAvailable(Mockito.any())).thenReturn(EntityEviction.NONE);
 
         //when
         boolean actual = newsService.delete(id);
@@ -186,7 +200,22 @@ class NewsServiceTest {
         Mockito.verify(commentRepository, Mockito.times(1))
                 .deleteAllByNewsId(Mockito.any());
         Mockito.verify(newsRepository, Mockito.times(1))
-                .deleteById(Mockito.any());
+                .deleteByIdReturningCount(Mockito.any());
         Assertions.assertTrue(actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteTest_shouldEvictCommentsDeletedWithNews() {
+        //given
+        Long id = 3L;
+        EntityEviction eviction = Mockito.mock(EntityEviction.class, Mockito.CALLS_REAL_METHODS);
+        when(commentEviction.getIfAvailable(Mockito.any())).thenReturn(eviction);
+        when(commentRepository.findIdsByNewsId(id)).thenReturn(List.of(7L, 8L));
+
+        //when
+        newsService.delete(id);
+
+        //then
+        Mockito.verify(eviction).evict(List.of(7L, 8L));
+    }
+}
@@ -0,0 +1,82 @@
+package ru.clevertec.security.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.security.entity.Role;
+import ru.clevertec.security.entity.User;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the tokens per second verified by the authentication filter: the previous way, building the key
+ * and the parser on every call and parsing the token twice, a single parse with the cached parser
+ * and a hit of the verified token cache. Run with <b>gradle :security:jmh</b>
+ *
+ * @author Yuryeu Andrei
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "1111111111111111111111111111111111111111111111111111";
+
+    private JwtService cachingService;
+    private JwtService parsingService;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachingService = new JwtService(SECRET_KEY, 43200000, "andrei", 1024);
+        parsingService = new JwtService(SECRET_KEY, 43200000, "andrei", 0);
+        user = new User(1L, "andrei", "yurueu", "dobrowydka", "261101", Role.ADMIN);
+        token = cachingService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean perCallParserTwoParses() {
+        String username = perCallClaims(token).getSubject();
+        return username.equals(user.getUsername()) && !perCallClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean cachedParserOneParse() {
+        Claims claims = parsingService.extractAllClaims(token);
+        return parsingService.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public boolean verifiedTokenCacheHit() {
+        Claims claims = cachingService.extractAllClaims(token);
+        return cachingService.isTokenValid(claims, user);
+    }
+
+    private static Claims perCallClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts
+                .parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -1,21 +1,25 @@
 package ru.clevertec.security.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import ru.clevertec.security.repository.UserRepository;
+import ru.clevertec.security.service.UserCache;
+import ru.clevertec.security.service.UserCacheEndpoint;
+
+import java.time.Duration;
 
 /**
  * Configuration class with beans initializing
- * (could not be joined with Security config due to cyclic injections)
+ * (could not be joined with Security config due to cyclic injections). Users are cached
+ * by spring.security.user-cache.size(1000 by default) and spring.security.user-cache.time-to-live(5m by default)
  *
  * @author Yuryeu Andrei
  */
@@ -25,10 +29,19 @@ public class AppConfig {
 
     private final UserRepository repository;
 
+    @Value("${spring.security.user-cache.size:1000}")
+    private int userCacheSize;
+    @Value("${spring.security.user-cache.time-to-live:5m}")
+    private Duration userCacheTimeToLive;
+
+    @Bean
+    public UserCache userDetailsService() {
+        return new UserCache(repository, userCacheSize, userCacheTimeToLive, System::currentTimeMillis);
+    }
+
     @Bean
-    public UserDetailsService userDetailsService() {
-        return username -> repository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public UserCacheEndpoint userCacheEndpoint(UserCache userCache) {
+        return new UserCacheEndpoint(userCache);
     }
 
     @Bean
@@ -1,6 +1,7 @@
 package ru.clevertec.security.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,12 +14,14 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import ru.clevertec.handling.handler.ExceptionSecurityFilter;
+import ru.clevertec.security.entity.Authority;
 import ru.clevertec.security.filter.JwtAuthenticationFilter;
 
 /**
  * Spring security configuration class. Details:csrf disabled, cors commented, /auth/login and /auth/register
  * endpoints available for anonymous users, get are available for everybody, /auth/users endpoint for getting
- * username by JWT token is available for everybody, other requests must be authorized,
+ * username by JWT token is available for everybody, /actuator/users endpoint dropping the cached users
+ * is available for users with MANAGE_CACHES authority only, other requests must be authorized,
  * 2 filters for authentication and exception handling
  *
  * @author Yuryeu Andrei
@@ -48,6 +51,8 @@ public class SecurityConfig {
                         handling.authenticationEntryPoint(exceptionFilter::handleException))
                 .authorizeHttpRequests((authorizeHttpRequests) ->
                         authorizeHttpRequests
+                                .requestMatchers(EndpointRequest.to("users"))
+                                .hasAuthority(Authority.MANAGE_CACHES.name())
                                 .requestMatchers(HttpMethod.POST,
                                         "/auth/login",
                                         "/auth/register").anonymous()
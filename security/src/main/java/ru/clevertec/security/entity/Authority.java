@@ -7,6 +7,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 /**
  * Authority enum, contains such authorities as WRITE_COMMENTS, DELETE_COMMENTS, WRITE_NEWS, DELETE_NEWS
+ * and MANAGE_CACHES(actuator endpoints, that drop the cached users and principals)
  *
  * @author Yuryeu Andrei
  */
@@ -17,7 +18,8 @@ public enum Authority {
     WRITE_COMMENTS(new SimpleGrantedAuthority("WRITE_COMMENTS")),
     DELETE_COMMENTS(new SimpleGrantedAuthority("DELETE_COMMENTS")),
     WRITE_NEWS(new SimpleGrantedAuthority("WRITE_NEWS")),
-    DELETE_NEWS(new SimpleGrantedAuthority("DELETE_NEWS"));
+    DELETE_NEWS(new SimpleGrantedAuthority("DELETE_NEWS")),
+    MANAGE_CACHES(new SimpleGrantedAuthority("MANAGE_CACHES"));
 
     private final GrantedAuthority grantedAuthority;
 }
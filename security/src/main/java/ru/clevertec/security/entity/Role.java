@@ -8,7 +8,8 @@ import java.util.List;
 
 /**
  * Authority enum, contains such roles as JOURNALIST(write and delete news),
- * SUBSCRIBER(write and delete comments) and ADMIN(write and delete both news and comments)
+ * SUBSCRIBER(write and delete comments) and ADMIN(write and delete both news and comments,
+ * manage the caches)
  *
  * @author Yuryeu Andrei
  * @see Authority
@@ -29,7 +30,8 @@ public enum Role {
             Authority.WRITE_NEWS.getGrantedAuthority(),
             Authority.DELETE_NEWS.getGrantedAuthority(),
             Authority.WRITE_COMMENTS.getGrantedAuthority(),
-            Authority.DELETE_COMMENTS.getGrantedAuthority())
+            Authority.DELETE_COMMENTS.getGrantedAuthority(),
+            Authority.MANAGE_CACHES.getGrantedAuthority())
     );
 
     private final List<GrantedAuthority> authorities;
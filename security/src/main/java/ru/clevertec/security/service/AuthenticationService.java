@@ -31,9 +31,11 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserCache userCache;
 
     /**
-     * Method for registration(saves user to db with encrypted password)
+     * Method for registration(saves user to db with encrypted password), the cached user with the same username
+     * is evicted
      *
      * @param request RegisterRequest DTO
      * @return returns a <b>AuthenticationResponseDto</b> with generated JWT token
@@ -54,6 +56,7 @@ public class AuthenticationService {
         } catch (Exception ex) {
             throw new RegisterException("Username is already exists", HttpStatus.BAD_REQUEST);
         }
+        userCache.evict(user.getUsername());
         String token = jwtService.generateToken(user);
         return new AuthenticationResponseDto(token);
     }
@@ -1,11 +1,13 @@
 package ru.clevertec.security.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -13,45 +15,61 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
- * JWT service class for all operations with tokens
+ * JWT service class for all operations with tokens. The signing key and the parser are built once,
+ * the claims of the verified tokens are kept by a small cache of spring.security.jwt.verified-tokens
+ * (1024 by default) tokens, so a token is parsed once, while it is valid.
  *
  * @author Yuryeu Andrei
  */
 @Service
 public class JwtService {
 
-    @Value("${spring.security.jwt.secret-key}")
-    private String secretKey;
-    @Value("${spring.security.jwt.expiration}")
-    private long jwtExpiration;
-    @Value("${spring.security.jwt.issuer}")
-    private String issuer;
-
     /**
-     * Extracts username by given token
+     * Claim with the authority names of the user, so other services verify the token without asking this one
      */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public static final String AUTHORITIES_CLAIM = "authorities";
+
+    private final long jwtExpiration;
+    private final String issuer;
+    private final Key signInKey;
+    private final JwtParser parser;
+    private final VerifiedTokens verifiedTokens;
+
+    public JwtService(@Value("${spring.security.jwt.secret-key}") String secretKey,
+                      @Value("${spring.security.jwt.expiration}") long jwtExpiration,
+                      @Value("${spring.security.jwt.issuer}") String issuer,
+                      @Value("${spring.security.jwt.verified-tokens:1024}") int verifiedTokens) {
+        this.jwtExpiration = jwtExpiration;
+        this.issuer = issuer;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts
+                .parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        this.verifiedTokens = new VerifiedTokens(verifiedTokens);
     }
 
     /**
-     * Extracts the claim by given token
+     * Extracts username by given token
      */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String extractUsername(String token) {
+        return extractAllClaims(token).getSubject();
     }
 
     /**
-     * Generates JWT token by given UserDetails implementation
+     * Generates JWT token by given UserDetails implementation, the authorities of the user are kept in the token
      *
      * @see UserDetails
      */
     public String generateToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, jwtExpiration);
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        return buildToken(claims, userDetails, jwtExpiration);
     }
 
     /**
@@ -70,7 +88,7 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -78,41 +96,28 @@ public class JwtService {
      * Checks if the token is valid(not expired and identical usernames)
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    /**
-     * Checks if the token is expired
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Extracts username by given token
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
     /**
-     * Extracts all the claims of given token
+     * Checks if the claims of a token, returned by {@link #extractAllClaims(String)}, are valid
+     * (not expired and identical usernames)
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
     /**
-     * Generates secret key by given in the properties with encryption
+     * Extracts all the claims of given token, the signature of a token is verified once, while it is valid
+     *
+     * @throws io.jsonwebtoken.JwtException in case the token is not valid
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Claims extractAllClaims(String token) {
+        Claims claims = verifiedTokens.get(token);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
     }
 }
@@ -0,0 +1,135 @@
+package ru.clevertec.security.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import ru.clevertec.security.entity.User;
+import ru.clevertec.security.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded LRU cache of the users by username in front of the {@link UserRepository}, so the validation
+ * of a token does not query the users database. An entry lives for the time to live, so a change made
+ * in the database directly is seen after it at the latest. Absent users are not cached.
+ * <p>
+ * A load is not cached, in case an entry was evicted by {@link #evict(String)} or {@link #clear()}
+ * while the user was loaded, so a user loaded before a change is never served after it.
+ * Hits, misses, evictions and size are published as cache.gets, cache.evictions and cache.size metrics
+ * tagged with cache=users.
+ *
+ * @author Yuryeu Andrei
+ * @see UserCacheEndpoint
+ */
+public class UserCache implements UserDetailsService, MeterBinder {
+
+    private static final String NAME = "users";
+
+    private final UserRepository repository;
+    private final long timeToLiveMillis;
+    private final LongSupplier clock;
+    private final Map<String, CachedUser> users;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize number of kept users, the least recently used user is evicted
+     * @param clock   wall clock in milliseconds
+     */
+    public UserCache(UserRepository repository, int maxSize, Duration timeToLive, LongSupplier clock) {
+        this.repository = repository;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private record CachedUser(User user, long loadedAt) {
+    }
+
+    @Override
+    public User loadUserByUsername(String username) {
+        long now = clock.getAsLong();
+        synchronized (users) {
+            CachedUser cached = users.get(username);
+            if (cached != null && now - cached.loadedAt() < timeToLiveMillis) {
+                hits.increment();
+                return cached.user();
+            }
+        }
+        misses.increment();
+        long invalidationsBefore = invalidations.get();
+        User user = repository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        synchronized (users) {
+            if (invalidations.get() == invalidationsBefore) {
+                users.put(username, new CachedUser(user, now));
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Drops the user, called when the user is registered or its role is changed
+     */
+    public void evict(String username) {
+        synchronized (users) {
+            invalidations.incrementAndGet();
+            users.remove(username);
+        }
+    }
+
+    public void clear() {
+        synchronized (users) {
+            invalidations.incrementAndGet();
+            users.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("cache", NAME);
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags(tags).tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value.")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags(tags).tag("result", "miss")
+                .description("The number of times cache lookup methods have returned an uncached (newly loaded) value")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tags(tags)
+                .description("The number of times the cache was evicted.")
+                .register(registry);
+        Gauge.builder("cache.size", this, UserCache::size)
+                .tags(tags)
+                .description("The number of entries in this cache.")
+                .register(registry);
+    }
+}
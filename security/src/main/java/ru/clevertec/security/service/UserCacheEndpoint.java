@@ -0,0 +1,29 @@
+package ru.clevertec.security.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+/**
+ * Actuator endpoint for the changes made in the users database directly, e.g. a role change:
+ * <b>DELETE /actuator/users/{username}</b> drops the cached user, <b>DELETE /actuator/users</b> drops all of them
+ *
+ * @author Yuryeu Andrei
+ */
+@Endpoint(id = "users")
+@RequiredArgsConstructor
+public class UserCacheEndpoint {
+
+    private final UserCache userCache;
+
+    @DeleteOperation
+    public void evict(@Selector String username) {
+        userCache.evict(username);
+    }
+
+    @DeleteOperation
+    public void evictAll() {
+        userCache.clear();
+    }
+}
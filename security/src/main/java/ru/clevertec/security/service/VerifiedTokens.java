@@ -0,0 +1,60 @@
+package ru.clevertec.security.service;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small cache of the claims of the tokens with a verified signature, so a token presented on every request
+ * is parsed once. An expired token is dropped on a hit. When the cache is full, the expired tokens are dropped,
+ * if it is still full, it is cleared, so the cache is bounded without keeping an eviction order.
+ *
+ * @author Yuryeu Andrei
+ */
+class VerifiedTokens {
+
+    private final int maxSize;
+    private final Map<String, Claims> claims = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxSize number of kept tokens, 0 disables the cache
+     */
+    VerifiedTokens(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return claims of the token or null if the token is not verified or it is expired
+     */
+    Claims get(String token) {
+        Claims verified = claims.get(token);
+        if (verified == null) {
+            return null;
+        }
+        if (isExpired(verified, new Date())) {
+            claims.remove(token);
+            return null;
+        }
+        return verified;
+    }
+
+    void put(String token, Claims verified) {
+        if (maxSize == 0) {
+            return;
+        }
+        if (claims.size() >= maxSize) {
+            Date now = new Date();
+            claims.values().removeIf(existing -> isExpired(existing, now));
+            if (claims.size() >= maxSize) {
+                claims.clear();
+            }
+        }
+        claims.put(token, verified);
+    }
+
+    private static boolean isExpired(Claims verified, Date now) {
+        return verified.getExpiration() != null && verified.getExpiration().before(now);
+    }
+}
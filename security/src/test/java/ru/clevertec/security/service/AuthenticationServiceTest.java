@@ -43,6 +43,9 @@ class AuthenticationServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private UserCache userCache;
+
     @Nested
     class RegisterTests {
 
@@ -1,6 +1,7 @@
 package ru.clevertec.security.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -77,6 +78,32 @@ class JwtServiceTest {
         Assertions.assertNotNull(actual);
     }
 
+    @Test
+    void extractAllClaimsTest_shouldVerifyGeneratedTokenAndReturnSameClaimsWhileTokenIsValid() {
+        //given
+        JwtService jwtService = new JwtService(secretKey, 1000000, "andrei", 16);
+        User user = new User(1L, "andrei", "yurueu", "dobrowydka", "12345", Role.ADMIN);
+        String token = jwtService.generateToken(user);
+
+        //when
+        Claims first = jwtService.extractAllClaims(token);
+        Claims second = jwtService.extractAllClaims(token);
+
+        //then
+        Assertions.assertSame(first, second);
+        Assertions.assertTrue(jwtService.isTokenValid(second, user));
+    }
+
+    @Test
+    void extractAllClaimsTest_shouldThrowExpiredJwtExceptionForExpiredToken() {
+        //given
+        JwtService jwtService = new JwtService(secretKey, -1000, "andrei", 16);
+        String token = jwtService.generateToken(new User(1L, "andrei", "yurueu", "dobrowydka", "12345", Role.ADMIN));
+
+        //when, then
+        Assertions.assertThrows(ExpiredJwtException.class, () -> jwtService.extractAllClaims(token));
+    }
+
     @Nested
     class IsTokenValidTest {
 
@@ -0,0 +1,73 @@
+package ru.clevertec.security.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import ru.clevertec.security.entity.Role;
+import ru.clevertec.security.entity.User;
+import ru.clevertec.security.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final User user = new User(1L, "andrei", "yurueu", "dobrowydka", "12345", Role.ADMIN);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void checkLoadUserByUsernameShouldQueryRepositoryOnceWhileUserIsCached() {
+        //given
+        UserCache userCache = new UserCache(userRepository, 2, Duration.ofMinutes(5), clock::get);
+        when(userRepository.findByUsername("dobrowydka")).thenReturn(Optional.of(user));
+
+        //when
+        userCache.loadUserByUsername("dobrowydka");
+        clock.addAndGet(Duration.ofMinutes(4).toMillis());
+        User actual = userCache.loadUserByUsername("dobrowydka");
+
+        //then
+        Assertions.assertEquals(user, actual);
+        verify(userRepository, times(1)).findByUsername("dobrowydka");
+    }
+
+    @Test
+    void checkLoadUserByUsernameShouldQueryRepositoryAgainAfterEvictionOrExpiry() {
+        //given
+        UserCache userCache = new UserCache(userRepository, 2, Duration.ofMinutes(5), clock::get);
+        when(userRepository.findByUsername("dobrowydka")).thenReturn(Optional.of(user));
+
+        //when
+        userCache.loadUserByUsername("dobrowydka");
+        userCache.evict("dobrowydka");
+        userCache.loadUserByUsername("dobrowydka");
+        clock.addAndGet(Duration.ofMinutes(5).toMillis());
+        userCache.loadUserByUsername("dobrowydka");
+
+        //then
+        verify(userRepository, times(3)).findByUsername("dobrowydka");
+    }
+
+    @Test
+    void checkLoadUserByUsernameShouldThrowUsernameNotFoundExceptionAndNotCacheAbsentUser() {
+        //given
+        UserCache userCache = new UserCache(userRepository, 2, Duration.ofMinutes(5), clock::get);
+        when(userRepository.findByUsername("absent")).thenReturn(Optional.empty());
+
+        //when, then
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> userCache.loadUserByUsername("absent"));
+        Assertions.assertEquals(0, userCache.size());
+    }
+}